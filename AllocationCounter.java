@@ -0,0 +1,94 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts how many bytes the robot thread allocates between begin() and
+ * end(), so we can check that a loop makes no garbage.
+ *
+ * Uses the HotSpot per-thread allocation counter. Reading that counter
+ * allocates a little by itself, so that amount is measured once and taken
+ * off every reading. If the JVM does not support it, end() returns -1.
+ */
+public class AllocationCounter {
+	private final com.sun.management.ThreadMXBean threads;
+	private final long threadId;
+	private final long overhead;
+	private long startBytes = -1;
+	private long maxBytes = 0;
+
+	public AllocationCounter() {
+		threads = findThreadBean();
+		threadId = Thread.currentThread().getId();
+
+		if (threads != null) {
+			//Measure What Reading the Counter Costs
+			threads.getThreadAllocatedBytes(threadId);
+			long a = threads.getThreadAllocatedBytes(threadId);
+			long b = threads.getThreadAllocatedBytes(threadId);
+			overhead = b - a;
+		} else {
+			overhead = 0;
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean findThreadBean() {
+		try {
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+				if (threads.isThreadAllocatedMemorySupported()) {
+					threads.setThreadAllocatedMemoryEnabled(true);
+					return threads;
+				}
+			}
+		} catch (Exception e) {
+			//Not Supported on This JVM
+		}
+		return null;
+	}
+
+	public boolean isSupported() {
+		return threads != null;
+	}
+
+	public void begin() {
+		if (threads != null) {
+			startBytes = threads.getThreadAllocatedBytes(threadId);
+		}
+	}
+
+	/**
+	 * @return bytes allocated since begin(), or -1 if unknown
+	 */
+	public long end() {
+		if (threads == null || startBytes < 0) {
+			return -1;
+		}
+
+		long bytes = threads.getThreadAllocatedBytes(threadId) - startBytes - overhead;
+		startBytes = -1;
+		if (bytes < 0) {
+			bytes = 0;
+		}
+		if (bytes > maxBytes) {
+			maxBytes = bytes;
+		}
+		return bytes;
+	}
+
+	public long getMax() {
+		return maxBytes;
+	}
+
+	public void resetMax() {
+		maxBytes = 0;
+	}
+}
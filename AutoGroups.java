@@ -0,0 +1,305 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Steps that are made out of other steps. These are how routines get put
+ * together: run steps in order, run them side by side, race them against a
+ * watchDog deadline, or pick one based on which side our switch is on.
+ *
+ * Everything is built once in robotInit(). Running a group does not create
+ * any objects, so it is safe to call from autonomousPeriodic().
+ */
+public final class AutoGroups {
+	private AutoGroups() {
+	}
+
+	public static AutoStep sequence(AutoStep... steps) {
+		return new Sequence(steps);
+	}
+
+	public static AutoStep parallel(AutoStep... steps) {
+		return new Parallel(steps);
+	}
+
+	/**
+	 * Runs a step until it finishes or the watchDog passes deadline.
+	 *
+	 * @param abort true to stop the routine on timeout, false to move on
+	 */
+	public static AutoStep deadline(double deadline, boolean abort, AutoStep step) {
+		return new Race(deadline, abort, step);
+	}
+
+	public static AutoStep ifSwitch(RobotLogic robot, char side, AutoStep onSide, AutoStep otherwise) {
+		return new IfSwitch(robot, side, onSide, otherwise);
+	}
+
+	/**
+	 * Does nothing and finishes right away.
+	 */
+	public static AutoStep nothing() {
+		return new Sequence();
+	}
+
+	/**
+	 * Runs steps one after another. Stops early if a step fails.
+	 */
+	public static class Sequence implements AutoStep {
+		private final AutoStep[] steps;
+		private int index;
+		private boolean started;
+		private boolean failed;
+
+		public Sequence(AutoStep... steps) {
+			this.steps = steps;
+		}
+
+		@Override
+		public void start(double time) {
+			index = 0;
+			started = false;
+			failed = false;
+		}
+
+		@Override
+		public boolean update(double time) {
+			if (index >= steps.length) {
+				return true;
+			}
+
+			AutoStep step = steps[index];
+
+			if (!started) {
+				step.start(time);
+				started = true;
+			}
+
+			if (step.update(time)) {
+				if (step.failed()) {
+					failed = true;
+					return true;
+				}
+
+				index++;
+				started = false;
+				return index >= steps.length;
+			}
+			return false;
+		}
+
+		@Override
+		public void stop() {
+			if (started && index < steps.length) {
+				steps[index].stop();
+			}
+		}
+
+		@Override
+		public boolean failed() {
+			return failed;
+		}
+
+		@Override
+		public boolean hasTimedOut() {
+			int last = started ? index : index - 1;
+			for (int i = 0; i <= last && i < steps.length; i++) {
+				if (steps[i].hasTimedOut()) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Runs steps side by side and finishes when all of them have.
+	 */
+	public static class Parallel implements AutoStep {
+		private final AutoStep[] steps;
+		private final boolean[] finished;
+		private int remaining;
+
+		public Parallel(AutoStep... steps) {
+			this.steps = steps;
+			this.finished = new boolean[steps.length];
+		}
+
+		@Override
+		public void start(double time) {
+			remaining = steps.length;
+			for (int i = 0; i < steps.length; i++) {
+				finished[i] = false;
+				steps[i].start(time);
+			}
+		}
+
+		@Override
+		public boolean update(double time) {
+			for (int i = 0; i < steps.length; i++) {
+				if (!finished[i] && steps[i].update(time)) {
+					finished[i] = true;
+					remaining--;
+				}
+			}
+			return remaining == 0;
+		}
+
+		@Override
+		public void stop() {
+			for (int i = 0; i < steps.length; i++) {
+				if (!finished[i]) {
+					steps[i].stop();
+				}
+			}
+		}
+
+		@Override
+		public boolean failed() {
+			for (int i = 0; i < steps.length; i++) {
+				if (steps[i].failed()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public boolean hasTimedOut() {
+			for (int i = 0; i < steps.length; i++) {
+				if (steps[i].hasTimedOut()) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Runs steps side by side until the first one finishes or the watchDog
+	 * passes the deadline, then stops the rest.
+	 */
+	public static class Race implements AutoStep {
+		private final double deadline;
+		private final boolean abortOnTimeout;
+		private final AutoStep[] steps;
+		private boolean timedOut;
+		private boolean failed;
+
+		public Race(double deadline, boolean abortOnTimeout, AutoStep... steps) {
+			this.deadline = deadline;
+			this.abortOnTimeout = abortOnTimeout;
+			this.steps = steps;
+		}
+
+		@Override
+		public void start(double time) {
+			timedOut = false;
+			failed = false;
+			for (int i = 0; i < steps.length; i++) {
+				steps[i].start(time);
+			}
+		}
+
+		@Override
+		public boolean update(double time) {
+			for (int i = 0; i < steps.length; i++) {
+				if (steps[i].update(time)) {
+					failed = steps[i].failed();
+					stopAllBut(i);
+					return true;
+				}
+			}
+
+			if (time >= deadline) {
+				timedOut = true;
+				failed = abortOnTimeout;
+				stopAllBut(-1);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void stop() {
+			stopAllBut(-1);
+		}
+
+		@Override
+		public boolean failed() {
+			return failed;
+		}
+
+		@Override
+		public boolean hasTimedOut() {
+			if (timedOut) {
+				return true;
+			}
+
+			for (int i = 0; i < steps.length; i++) {
+				if (steps[i].hasTimedOut()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void stopAllBut(int winner) {
+			for (int i = 0; i < steps.length; i++) {
+				if (i != winner) {
+					steps[i].stop();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Picks one of two steps when it starts, depending on which side of
+	 * the switch is ours this match.
+	 */
+	public static class IfSwitch implements AutoStep {
+		private final RobotLogic robot;
+		private final char side;
+		private final AutoStep onSide;
+		private final AutoStep otherwise;
+		private AutoStep chosen;
+
+		public IfSwitch(RobotLogic robot, char side, AutoStep onSide, AutoStep otherwise) {
+			this.robot = robot;
+			this.side = side;
+			this.onSide = onSide;
+			this.otherwise = otherwise;
+		}
+
+		@Override
+		public void start(double time) {
+			chosen = robot.getSwitchSide() == side ? onSide : otherwise;
+			chosen.start(time);
+		}
+
+		@Override
+		public boolean update(double time) {
+			return chosen.update(time);
+		}
+
+		@Override
+		public void stop() {
+			chosen.stop();
+		}
+
+		@Override
+		public boolean failed() {
+			return chosen.failed();
+		}
+
+		@Override
+		public boolean hasTimedOut() {
+			return chosen != null && chosen.hasTimedOut();
+		}
+	}
+}
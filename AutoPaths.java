@@ -0,0 +1,45 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Waypoints for every path the autos follow, as x (feet), y (feet) and
+ * heading (degrees) triples from where auto starts.
+ *
+ * AutoRoutines gets its paths from these, and TrajectoryCache.main() makes
+ * the cache file from all(), so a path added here and to all() is in both.
+ */
+public final class AutoPaths {
+	private AutoPaths() {
+	}
+
+	//Far Left, Our Switch: Drive Up Alongside the Switch, Then Curve Right to Face It
+	public static double[] farLeftSwitch(AutoTuning tuning) {
+		return new double[] {
+			0.0, 0.0, 0.0,
+			tuning.farSwitchDistance - tuning.farSwitchOffset, 0.0, 0.0,
+			tuning.farSwitchDistance, -tuning.farSwitchOffset, -90.0
+		};
+	}
+
+	//Far Left, Their Switch: Straight Across the Line
+	public static double[] farLeftCross(AutoTuning tuning) {
+		return new double[] {
+			0.0, 0.0, 0.0,
+			tuning.crossLineDistance, 0.0, 0.0
+		};
+	}
+
+	//Every Path Above
+	public static double[][] all(AutoTuning tuning) {
+		return new double[][] {
+			farLeftSwitch(tuning),
+			farLeftCross(tuning)
+		};
+	}
+}
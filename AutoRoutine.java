@@ -0,0 +1,80 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * A named autonomous routine that shows up in the auto chooser.
+ *
+ * The routine wraps one step (usually a sequence) that is advanced once per
+ * autonomousPeriodic() call. When the step finishes, or fails on a watchDog
+ * deadline, every motor is stopped.
+ */
+public class AutoRoutine {
+	private final RobotLogic robot;
+	private final String name;
+	private final AutoStep step;
+
+	//Run State
+	private boolean started = false;
+	private boolean finished = false;
+
+	public AutoRoutine(RobotLogic robot, String name, AutoStep step) {
+		this.robot = robot;
+		this.name = name;
+		this.step = step;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the routine ready to run again. Call from autonomousInit().
+	 */
+	public void reset() {
+		started = false;
+		finished = false;
+	}
+
+	/**
+	 * Advances the routine by one tick.
+	 *
+	 * @param time seconds since autonomous started
+	 */
+	public void update(double time) {
+		if (finished) {
+			return;
+		}
+
+		if (!started) {
+			step.start(time);
+			started = true;
+		}
+
+		if (step.update(time)) {
+			finished = true;
+			robot.reset();
+		}
+	}
+
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * @return true if any step hit its watchDog deadline
+	 */
+	public boolean hasTimedOut() {
+		return started && step.hasTimedOut();
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
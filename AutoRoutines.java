@@ -0,0 +1,181 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import static org.usfirst.frc.team4512.robot.AutoGroups.deadline;
+import static org.usfirst.frc.team4512.robot.AutoGroups.ifSwitch;
+import static org.usfirst.frc.team4512.robot.AutoGroups.nothing;
+import static org.usfirst.frc.team4512.robot.AutoGroups.sequence;
+
+/**
+ * Every autonomous routine we can run, built once in robotInit() and added
+ * to the auto chooser in the order they are listed here. The first one is
+ * the default.
+ *
+ * To add an auto, write a method that returns its steps and add it to the
+ * routines array in the constructor.
+ */
+public class AutoRoutines {
+	//Times in Seconds
+	static final double EJECT_TIME = 3.0;
+	static final double CROSS_LINE_TIME = 5.0;
+
+	//WatchDog Deadlines (Seconds Since Auto Started)
+	static final double LIFT_DEADLINE = 2.0;
+	static final double DRIVE_DEADLINE = 7.0;
+	static final double TIMED_DRIVE_DEADLINE = 8.0;
+	static final double TURN_DEADLINE = 9.0;
+	static final double VISION_DEADLINE = 10.0;
+	static final double PATH_DEADLINE = 9.0;
+	static final double EJECT_DEADLINE = 10.0;
+	static final double FAR_EJECT_DEADLINE = 11.0;
+
+	private final RobotLogic robot;
+	private final AutoTuning tuning;
+	private final AutoRoutine[] routines;
+
+	//Paths, Loaded Before the Match So autonomousInit() Has Nothing to Work Out
+	private final Trajectory farLeftSwitchPath;
+	private final Trajectory farLeftCrossPath;
+
+	/**
+	 * @param tuning lift counts and distances; speeds and footCount come from robot
+	 * @param paths cache to get the paths from (see AutoPaths for the waypoints)
+	 */
+	public AutoRoutines(RobotLogic robot, AutoTuning tuning, TrajectoryCache paths) {
+		this.robot = robot;
+		this.tuning = tuning;
+
+		farLeftSwitchPath = paths.get(tuning, AutoPaths.farLeftSwitch(tuning));
+		farLeftCrossPath = paths.get(tuning, AutoPaths.farLeftCross(tuning));
+
+		routines = new AutoRoutine[] {
+			new AutoRoutine(robot, "Grab Block and Cross Line", crossLineTimed()),
+			new AutoRoutine(robot, "Facing Left Side of Switch", centerLeft()),
+			new AutoRoutine(robot, "Facing Right Side of Switch", centerRight()),
+			new AutoRoutine(robot, "To The Left of Switch", farLeft()),
+			new AutoRoutine(robot, "To The Right of Switch", farRight()),
+			new AutoRoutine(robot, "Literally Nothing", nothing()),
+			new AutoRoutine(robot, "Facing Left Side of Switch, Vision", centerLeftVision())
+		};
+	}
+
+	public AutoRoutine[] getRoutines() {
+		return routines;
+	}
+
+	public AutoRoutine getDefault() {
+		return routines[0];
+	}
+
+	//Where routine Is in getRoutines(), or -1
+	public int indexOf(AutoRoutine routine) {
+		for (int i = 0; i < routines.length; i++) {
+			if (routines[i] == routine) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	//Shared Steps
+	private AutoStep holdCube() {
+		return new AutoSteps.SetCollector(robot, robot.collectSpeed * 0.25);
+	}
+
+	private AutoStep liftToSwitch() {
+		return new AutoSteps.Lift(robot, tuning.switchLiftCount);
+	}
+
+	private AutoStep driveFeet(double feet) {
+		return new AutoSteps.DriveDistance(robot, feet, feet);
+	}
+
+	private AutoStep eject() {
+		return new AutoSteps.Eject(robot, EJECT_TIME);
+	}
+
+	/**
+	 * Lifts and drives across the line when the switch is not ours.
+	 */
+	private AutoStep crossLine(boolean abortOnLiftTimeout) {
+		return sequence(
+			deadline(LIFT_DEADLINE, abortOnLiftTimeout, liftToSwitch()),
+			deadline(DRIVE_DEADLINE, true, driveFeet(tuning.crossLineDistance)));
+	}
+
+	/**
+	 * Lifts, then drives straight up to the fence and scores on a switch
+	 * right in front. switchDistance is only the furthest it will go if
+	 * the ultrasonics don't see the fence.
+	 */
+	private AutoStep scoreStraight(boolean abortOnLiftTimeout) {
+		return sequence(
+			holdCube(),
+			deadline(LIFT_DEADLINE, abortOnLiftTimeout, liftToSwitch()),
+			deadline(DRIVE_DEADLINE, true, new AutoSteps.ApproachWall(robot, tuning.switchDistance)),
+			deadline(EJECT_DEADLINE, true, eject()));
+	}
+
+	//Cross Auto Line
+	private AutoStep crossLineTimed() {
+		return sequence(
+			holdCube(),
+			liftToSwitch(),
+			deadline(TIMED_DRIVE_DEADLINE, true,
+				new AutoSteps.TimedDrive(robot, -robot.autoSpeedLeft, -robot.autoSpeedRight, CROSS_LINE_TIME)));
+	}
+
+	//If positioned in direct line of sight of the left side of the switch
+	private AutoStep centerLeft() {
+		return ifSwitch(robot, 'L', scoreStraight(true), crossLine(true));
+	}
+
+	//If positioned in direct line of sight of the right side of the switch
+	private AutoStep centerRight() {
+		return ifSwitch(robot, 'R', scoreStraight(false), crossLine(false));
+	}
+
+	//Same spot as centerLeft, but lines up on the vision target for the last few feet
+	private AutoStep centerLeftVision() {
+		return ifSwitch(robot, 'L',
+			sequence(
+				holdCube(),
+				deadline(LIFT_DEADLINE, true, liftToSwitch()),
+				deadline(DRIVE_DEADLINE, true, driveFeet(tuning.visionApproachDistance)),
+				deadline(VISION_DEADLINE, true, new AutoSteps.VisionAlign(robot)),
+				deadline(FAR_EJECT_DEADLINE, true, eject())),
+			crossLine(true));
+	}
+
+	//If positioned on the left side of the field & not in direct line of sight of the switch
+	private AutoStep farLeft() {
+		return ifSwitch(robot, 'L',
+			sequence(
+				holdCube(),
+				deadline(LIFT_DEADLINE, true, liftToSwitch()),
+				deadline(PATH_DEADLINE, true, new AutoSteps.FollowPath(robot, farLeftSwitchPath)),
+				deadline(FAR_EJECT_DEADLINE, true, eject())),
+			sequence(
+				holdCube(),
+				deadline(LIFT_DEADLINE, true, liftToSwitch()),
+				deadline(PATH_DEADLINE, true, new AutoSteps.FollowPath(robot, farLeftCrossPath))));
+	}
+
+	//If positioned on the right side of the field & not in direct line of sight of the switch
+	private AutoStep farRight() {
+		return ifSwitch(robot, 'R',
+			sequence(
+				holdCube(),
+				deadline(LIFT_DEADLINE, true, new AutoSteps.Lift(robot, tuning.highLiftCount)),
+				deadline(DRIVE_DEADLINE, true, driveFeet(tuning.farSwitchDistance)),
+				deadline(TURN_DEADLINE, true, new AutoSteps.TurnTo(robot, tuning, 90.0)),
+				deadline(FAR_EJECT_DEADLINE, true, eject())),
+			crossLine(false));
+	}
+}
@@ -0,0 +1,53 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * One step of an autonomous routine (lift, drive, eject, turn...).
+ *
+ * Steps are advanced once per autonomousPeriodic() call and must never
+ * block or loop waiting on a sensor. Each update() does a bounded amount of
+ * work and returns whether the step is finished.
+ */
+public interface AutoStep {
+	/**
+	 * Called once on the tick the step becomes active.
+	 *
+	 * @param time seconds since autonomous started
+	 */
+	void start(double time);
+
+	/**
+	 * Called once per tick while the step is active.
+	 *
+	 * @param time seconds since autonomous started
+	 * @return true when the step is finished
+	 */
+	boolean update(double time);
+
+	/**
+	 * Called if the step is cut off before it finishes, for example by a
+	 * watchDog deadline. Should stop any motors the step was running.
+	 */
+	default void stop() {
+	}
+
+	/**
+	 * @return true if the step finished but the routine should not go on
+	 */
+	default boolean failed() {
+		return false;
+	}
+
+	/**
+	 * @return true if this step, or any step inside it, hit its deadline
+	 */
+	default boolean hasTimedOut() {
+		return false;
+	}
+}
@@ -0,0 +1,304 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * The building blocks of every autonomous routine. Each one does what a
+ * single while loop in the old autonomousPeriodic() did, one tick at a time.
+ */
+public final class AutoSteps {
+	private AutoSteps() {
+	}
+
+	/**
+	 * Sets the collector motors and finishes right away. The motors keep
+	 * running at that speed through the following steps.
+	 */
+	public static class SetCollector implements AutoStep {
+		private final RobotLogic robot;
+		private final double speed;
+
+		public SetCollector(RobotLogic robot, double speed) {
+			this.robot = robot;
+			this.speed = speed;
+		}
+
+		@Override
+		public void start(double time) {
+			robot.collectorMotors(speed);
+		}
+
+		@Override
+		public boolean update(double time) {
+			return true;
+		}
+	}
+
+	/**
+	 * Moves the lift to an encoder count with the robot's LiftController and
+	 * finishes once it is there. The lift keeps holding that height through
+	 * the following steps.
+	 */
+	public static class Lift implements AutoStep {
+		private final RobotLogic robot;
+		private final int count;
+
+		public Lift(RobotLogic robot, int count) {
+			this.robot = robot;
+			this.count = count;
+		}
+
+		@Override
+		public void start(double time) {
+			robot.liftController.moveTo(count);
+		}
+
+		@Override
+		public boolean update(double time) {
+			return robot.liftController.isFinished();
+		}
+
+		@Override
+		public void stop() {
+			robot.liftController.cancel();
+		}
+	}
+
+	/**
+	 * Drives each side a distance in feet (forward positive) with the
+	 * robot's DriveController, finishing once both sides are there. Used
+	 * for both driving straight and turning in place. The controller runs
+	 * on the control thread, this step just starts it and waits.
+	 */
+	public static class DriveDistance implements AutoStep {
+		private final RobotLogic robot;
+		private final double leftFeet;
+		private final double rightFeet;
+
+		public DriveDistance(RobotLogic robot, double leftFeet, double rightFeet) {
+			this.robot = robot;
+			this.leftFeet = leftFeet;
+			this.rightFeet = rightFeet;
+		}
+
+		@Override
+		public void start(double time) {
+			robot.driveController.command(leftFeet, rightFeet);
+		}
+
+		@Override
+		public boolean update(double time) {
+			return robot.driveController.isFinished();
+		}
+
+		@Override
+		public void stop() {
+			robot.driveController.cancel();
+		}
+	}
+
+	/**
+	 * Follows a path with the robot's PathFollower, finishing once the
+	 * robot gets to the end of it. The path is made ahead of time.
+	 */
+	public static class FollowPath implements AutoStep {
+		private final RobotLogic robot;
+		private final Trajectory path;
+
+		public FollowPath(RobotLogic robot, Trajectory path) {
+			this.robot = robot;
+			this.path = path;
+		}
+
+		@Override
+		public void start(double time) {
+			robot.pathFollower.follow(path);
+		}
+
+		@Override
+		public boolean update(double time) {
+			return robot.pathFollower.isFinished();
+		}
+
+		@Override
+		public void stop() {
+			robot.pathFollower.cancel();
+		}
+	}
+
+	/**
+	 * Turns in place to a heading in degrees (counter-clockwise positive,
+	 * 0 is the way the robot faced at the start of auto). Works out how far
+	 * that is from the pose when it starts, then drives the wheels that far
+	 * with the DriveController.
+	 */
+	public static class TurnTo implements AutoStep {
+		private final RobotLogic robot;
+		private final double heading;
+		private final double trackWidth;
+		private final Pose pose = new Pose();
+
+		public TurnTo(RobotLogic robot, AutoTuning tuning, double degrees) {
+			this.robot = robot;
+			this.heading = Math.toRadians(degrees);
+			this.trackWidth = tuning.trackWidth;
+		}
+
+		@Override
+		public void start(double time) {
+			robot.odometry.read(pose);
+			double turn = heading - pose.heading;
+			turn = Math.atan2(Math.sin(turn), Math.cos(turn));
+
+			//Each Side Goes Around a Circle the Width of the Robot
+			double feet = turn * trackWidth / 2.0;
+			robot.driveController.command(-feet, feet);
+		}
+
+		@Override
+		public boolean update(double time) {
+			return robot.driveController.isFinished();
+		}
+
+		@Override
+		public void stop() {
+			robot.driveController.cancel();
+		}
+	}
+
+	/**
+	 * Steers at the vision target and drives up to it with the robot's
+	 * VisionAligner, finishing once the target is big enough and straight
+	 * ahead.
+	 */
+	public static class VisionAlign implements AutoStep {
+		private final RobotLogic robot;
+
+		public VisionAlign(RobotLogic robot) {
+			this.robot = robot;
+		}
+
+		@Override
+		public void start(double time) {
+			robot.visionAligner.start();
+		}
+
+		@Override
+		public boolean update(double time) {
+			return robot.visionAligner.update(robot.sensors, time);
+		}
+
+		@Override
+		public void stop() {
+			robot.visionAligner.stop();
+		}
+	}
+
+	/**
+	 * Drives up to the wall in front with the robot's WallApproach, quickly
+	 * until the ultrasonics say it's close. Finishes stopped at the wall, or
+	 * after maxTravel feet if the wall never showed up.
+	 */
+	public static class ApproachWall implements AutoStep {
+		private final RobotLogic robot;
+		private final double maxTravel;
+
+		public ApproachWall(RobotLogic robot, double maxTravel) {
+			this.robot = robot;
+			this.maxTravel = maxTravel;
+		}
+
+		@Override
+		public void start(double time) {
+			robot.wallApproach.start(robot.sensors, robot.getLoopTime(), maxTravel);
+		}
+
+		@Override
+		public boolean update(double time) {
+			return robot.wallApproach.update(robot.sensors, robot.getLoopTime());
+		}
+
+		@Override
+		public void stop() {
+			robot.wallApproach.stop();
+		}
+	}
+
+	/**
+	 * Drives at a fixed speed for a number of seconds.
+	 */
+	public static class TimedDrive implements AutoStep {
+		private final RobotLogic robot;
+		private final double leftSpeed;
+		private final double rightSpeed;
+		private final double seconds;
+		private double startTime;
+
+		public TimedDrive(RobotLogic robot, double leftSpeed, double rightSpeed, double seconds) {
+			this.robot = robot;
+			this.leftSpeed = leftSpeed;
+			this.rightSpeed = rightSpeed;
+			this.seconds = seconds;
+		}
+
+		@Override
+		public void start(double time) {
+			startTime = time;
+		}
+
+		@Override
+		public boolean update(double time) {
+			robot.tankDrive(leftSpeed, rightSpeed);
+			if (time - startTime > seconds) {
+				robot.tankDrive(0.0, 0.0);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void stop() {
+			robot.tankDrive(0.0, 0.0);
+		}
+	}
+
+	/**
+	 * Spits the cube out for a number of seconds. Pass
+	 * Double.POSITIVE_INFINITY to keep ejecting until autonomous ends.
+	 */
+	public static class Eject implements AutoStep {
+		private final RobotLogic robot;
+		private final double seconds;
+		private double startTime;
+
+		public Eject(RobotLogic robot, double seconds) {
+			this.robot = robot;
+			this.seconds = seconds;
+		}
+
+		@Override
+		public void start(double time) {
+			startTime = time;
+		}
+
+		@Override
+		public boolean update(double time) {
+			robot.collectorMotors(-robot.collectSpeed);
+			if (time - startTime > seconds) {
+				robot.collectorMotors(0.0);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void stop() {
+			robot.collectorMotors(0.0);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * The numbers our autos are tuned with. The robot always uses the defaults
+ * below; MatchSimulator makes copies with different values to find better
+ * ones without using up practice field time.
+ */
+public class AutoTuning {
+	//Drive Speeds
+	public double autoSpeedRight = 0.4;
+	//Left Side Is Slower on the Real Robot
+	public double leftSpeedFactor = 1.05;
+
+	//Encoder Counts Per Foot of Drive Travel
+	public int footCount = 80;
+
+	//Lift Counts
+	public int switchLiftCount = 7000;
+	public int highLiftCount = 8500;
+	public int scaleLiftCount = 22000;
+	//Top Soft Limit, a Little Under the Top Reed Switch
+	public int liftMaxCount = 24000;
+
+	//Lift Profile (Counts/s and Counts/s^2)
+	public double liftMaxVelocity = 7000.0;
+	public double liftMaxAcceleration = 30000.0;
+
+	//Lift PID, Output Per Count of Error
+	public double liftKP = 0.0004;
+	public double liftKI = 0.0;
+	public double liftKD = 0.0;
+	//Feedforward Per Count/s, and to Hold Up the Carriage (Zero in the Simulator)
+	public double liftKV = 1.0 / 9000.0;
+	public double liftKG = 0.0;
+	//Counts the Lift Has to Be Within to Finish a Move
+	public double liftTolerance = 150.0;
+
+	//Distances in Feet
+	public double switchDistance = 8.5;
+	public double crossLineDistance = 9.0;
+	public double farSwitchDistance = 10.0;
+	//How Far Over Toward the Switch the Far Left Path Ends
+	public double farSwitchOffset = 2.5;
+	//Drive This Far Blind Before Vision Takes Over
+	public double visionApproachDistance = 4.5;
+
+	//Drive Profile (ft/s and ft/s^2)
+	public double driveMaxVelocity = 6.0;
+	public double driveMaxAcceleration = 8.0;
+	public double turnMaxVelocity = 3.0;
+	public double turnMaxAcceleration = 6.0;
+
+	//Drive PID, Output Per Foot of Error
+	public double driveKP = 0.6;
+	public double driveKI = 0.0;
+	public double driveKD = 0.02;
+	//Feedforward, Output Per ft/s and Per ft/s^2
+	public double driveKV = 1.0 / 12.0;
+	public double driveKA = 0.01;
+	//Output Per Foot of Difference Between the Sides
+	public double headingKP = 0.5;
+	//Feet Each Side Has to Be Within to Finish
+	public double driveTolerance = 0.1;
+	//Effective Wheel Base in Feet, for Odometry and Turning in Place
+	public double trackWidth = 3.2;
+
+	//Paths: Outside Wheel Speed Limit (ft/s) and Acceleration (ft/s^2)
+	public double pathMaxVelocity = 5.0;
+	public double pathMaxAcceleration = 6.0;
+	//Ramsete Gains, and Output Per ft/s a Side Is Too Slow
+	//The Paper's b = 2 Is Per Square Metre, Which Is 2 * 0.3048^2 = 0.19 Per Square Foot
+	public double ramseteB = 0.19;
+	public double ramseteZeta = 0.7;
+	public double pathKP = 0.05;
+
+	//Vision Align: Turn Output Per Radian (and Per Radian/s), Forward Output Per % of Area Left
+	public double visionTurnKP = 1.2;
+	public double visionTurnKD = 0.05;
+	public double visionAreaKP = 0.1;
+	public double visionMaxSpeed = 0.5;
+	public double visionMinSpeed = 0.15;
+	//Target Area (% of the Picture) Where We Stop, and How Straight On We Have to Be (Degrees)
+	public double visionTargetArea = 10.0;
+	public double visionHeadingTolerance = 3.0;
+
+	//Wall Approach: Fastest and Slowest Output, and Output Per Foot Still to Go
+	public double wallMaxSpeed = 0.7;
+	public double wallMinSpeed = 0.15;
+	public double wallSlowKP = 0.3;
+	//Feet From the Front Ultrasonics to the Wall Where We Stop, and How Close Counts
+	public double wallStopDistance = 0.25;
+	public double wallTolerance = 0.1;
+	//Turn Output Per Radian Off Square, and Per Foot the Side Wall Moved
+	public double wallSquareKP = 1.0;
+	public double wallSideKP = 0.3;
+	//Feet Between the Two Front Ultrasonics
+	public double ultrasonicSpread = 2.0;
+
+	public AutoTuning copy() {
+		AutoTuning copy = new AutoTuning();
+		copy.autoSpeedRight = autoSpeedRight;
+		copy.leftSpeedFactor = leftSpeedFactor;
+		copy.footCount = footCount;
+		copy.switchLiftCount = switchLiftCount;
+		copy.highLiftCount = highLiftCount;
+		copy.scaleLiftCount = scaleLiftCount;
+		copy.liftMaxCount = liftMaxCount;
+		copy.liftMaxVelocity = liftMaxVelocity;
+		copy.liftMaxAcceleration = liftMaxAcceleration;
+		copy.liftKP = liftKP;
+		copy.liftKI = liftKI;
+		copy.liftKD = liftKD;
+		copy.liftKV = liftKV;
+		copy.liftKG = liftKG;
+		copy.liftTolerance = liftTolerance;
+		copy.switchDistance = switchDistance;
+		copy.crossLineDistance = crossLineDistance;
+		copy.farSwitchDistance = farSwitchDistance;
+		copy.farSwitchOffset = farSwitchOffset;
+		copy.visionApproachDistance = visionApproachDistance;
+		copy.driveMaxVelocity = driveMaxVelocity;
+		copy.driveMaxAcceleration = driveMaxAcceleration;
+		copy.turnMaxVelocity = turnMaxVelocity;
+		copy.turnMaxAcceleration = turnMaxAcceleration;
+		copy.driveKP = driveKP;
+		copy.driveKI = driveKI;
+		copy.driveKD = driveKD;
+		copy.driveKV = driveKV;
+		copy.driveKA = driveKA;
+		copy.headingKP = headingKP;
+		copy.driveTolerance = driveTolerance;
+		copy.trackWidth = trackWidth;
+		copy.pathMaxVelocity = pathMaxVelocity;
+		copy.pathMaxAcceleration = pathMaxAcceleration;
+		copy.ramseteB = ramseteB;
+		copy.ramseteZeta = ramseteZeta;
+		copy.pathKP = pathKP;
+		copy.visionTurnKP = visionTurnKP;
+		copy.visionTurnKD = visionTurnKD;
+		copy.visionAreaKP = visionAreaKP;
+		copy.visionMaxSpeed = visionMaxSpeed;
+		copy.visionMinSpeed = visionMinSpeed;
+		copy.visionTargetArea = visionTargetArea;
+		copy.visionHeadingTolerance = visionHeadingTolerance;
+		copy.wallMaxSpeed = wallMaxSpeed;
+		copy.wallMinSpeed = wallMinSpeed;
+		copy.wallSlowKP = wallSlowKP;
+		copy.wallStopDistance = wallStopDistance;
+		copy.wallTolerance = wallTolerance;
+		copy.wallSquareKP = wallSquareKP;
+		copy.wallSideKP = wallSideKP;
+		copy.ultrasonicSpread = ultrasonicSpread;
+		return copy;
+	}
+}
@@ -0,0 +1,79 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Takes every button on one joystick once per loop and works out which
+ * ones were just pressed, just let go, or are being held.
+ *
+ * All three are bitmasks with button 1 in bit 0, like Stick.getButtons(),
+ * so checking a button is one AND. The buttons come from the loop's
+ * SensorSnapshot, so one loop always sees the same buttons (and a replay
+ * sees the same buttons as the match did).
+ */
+public class ButtonEvents {
+	private int held = 0;
+	private int pressed = 0;
+	private int released = 0;
+	private boolean primed = false;
+
+	/**
+	 * Call once at the top of each loop.
+	 *
+	 * @param buttons every button on the joystick this loop
+	 */
+	public void update(int buttons) {
+		//Buttons Already Down When We Start Are Held, Not Pressed
+		int last = primed ? held : buttons;
+		pressed = buttons & ~last;
+		released = last & ~buttons;
+		held = buttons;
+		primed = true;
+	}
+
+	/**
+	 * Forgets the last loop's buttons, for the start of a mode. A button
+	 * still down on the next update() counts as held but not pressed.
+	 */
+	public void reset() {
+		primed = false;
+		pressed = 0;
+		released = 0;
+	}
+
+	//Buttons Down This Loop
+	public int getHeld() {
+		return held;
+	}
+
+	//Buttons That Went Down This Loop
+	public int getPressed() {
+		return pressed;
+	}
+
+	//Buttons That Came Up This Loop
+	public int getReleased() {
+		return released;
+	}
+
+	public boolean isHeld(int button) {
+		return (held & bit(button)) != 0;
+	}
+
+	public boolean wasPressed(int button) {
+		return (pressed & bit(button)) != 0;
+	}
+
+	public boolean wasReleased(int button) {
+		return (released & bit(button)) != 0;
+	}
+
+	static int bit(int button) {
+		return 1 << (button - 1);
+	}
+}
@@ -0,0 +1,206 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Runs the teleop controls. Buttons are bound to commands, and each command
+ * owns one subsystem (drive, lift, collector or climb) while it runs. Only
+ * the owner of a subsystem touches its motors, so two buttons can never
+ * fight over one motor.
+ *
+ * - whileHeld() starts a command when its button goes down and ends it
+ *   when the button comes up.
+ * - whenPressed() does something once when its button goes down.
+ * - setDefault() is what a subsystem does when no button owns it (like
+ *   tank drive, or holding the lift).
+ *
+ * If a button wants a subsystem that another command owns, the newest
+ * button wins and the old command is ended. It does not come back when the
+ * new button is let go; press it again.
+ *
+ * Each loop poll() goes through only the buttons that changed, straight off
+ * the ButtonEvents bitmasks, then run() is called once per subsystem. All
+ * bindings are made in robotInit(), and nothing is allocated after that.
+ */
+public class CommandScheduler {
+	//Subsystems
+	public static final int NONE = -1;
+	public static final int DRIVE = 0;
+	public static final int LIFT = 1;
+	public static final int COLLECTOR = 2;
+	public static final int CLIMB = 3;
+	static final int SUBSYSTEMS = 4;
+
+	//Buttons Per Joystick, One Per Bit of the Button Mask
+	static final int BUTTONS = 32;
+
+	/**
+	 * Something a subsystem does, for as long as it owns the subsystem.
+	 */
+	public interface Command {
+		//Called Once When the Command Takes Over Its Subsystem
+		default void start() {
+		}
+
+		//Called Once Per Loop While It Owns the Subsystem
+		void execute();
+
+		//Called Once When Its Button Comes Up or Another Command Takes Over
+		default void end() {
+		}
+	}
+
+	private static class Binding {
+		final int subsystem;
+		final Command command;
+		final Runnable action;
+		//Another Binding on the Same Button, or Null
+		Binding next;
+
+		Binding(int subsystem, Command command, Runnable action) {
+			this.subsystem = subsystem;
+			this.command = command;
+			this.action = action;
+		}
+	}
+
+	private final ButtonEvents[] sticks;
+	private final Binding[][] bindings;
+	//Buttons With Anything Bound, So Unbound Buttons Are Never Looked At
+	private final int[] bound;
+	private final Command[] defaults = new Command[SUBSYSTEMS];
+	private final Command[] owners = new Command[SUBSYSTEMS];
+
+	public CommandScheduler(ButtonEvents... sticks) {
+		this.sticks = sticks;
+		bindings = new Binding[sticks.length][BUTTONS];
+		bound = new int[sticks.length];
+	}
+
+	/**
+	 * Runs command on subsystem for as long as the button is held.
+	 */
+	public void whileHeld(ButtonEvents stick, int button, int subsystem, Command command) {
+		if (subsystem < 0 || subsystem >= SUBSYSTEMS) {
+			throw new IllegalArgumentException("whileHeld needs a subsystem");
+		}
+		bind(stick, button, new Binding(subsystem, command, null));
+	}
+
+	/**
+	 * Runs action once when the button goes down. If subsystem isn't NONE,
+	 * whatever owned it is ended first and it goes back to its default.
+	 */
+	public void whenPressed(ButtonEvents stick, int button, int subsystem, Runnable action) {
+		if (subsystem < NONE || subsystem >= SUBSYSTEMS) {
+			throw new IllegalArgumentException("Unknown subsystem " + subsystem);
+		}
+		bind(stick, button, new Binding(subsystem, null, action));
+	}
+
+	//What a Subsystem Does When No Button Owns It
+	public void setDefault(int subsystem, Command command) {
+		defaults[subsystem] = command;
+	}
+
+	private void bind(ButtonEvents stick, int button, Binding binding) {
+		if (button < 1 || button > BUTTONS) {
+			throw new IllegalArgumentException("No button " + button);
+		}
+		int s = indexOf(stick);
+		Binding[] buttons = bindings[s];
+		if (buttons[button - 1] == null) {
+			buttons[button - 1] = binding;
+		} else {
+			Binding last = buttons[button - 1];
+			while (last.next != null) {
+				last = last.next;
+			}
+			last.next = binding;
+		}
+		bound[s] |= ButtonEvents.bit(button);
+	}
+
+	private int indexOf(ButtonEvents stick) {
+		for (int i = 0; i < sticks.length; i++) {
+			if (sticks[i] == stick) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Joystick isn't in this scheduler");
+	}
+
+	/**
+	 * Starts and ends commands for the buttons that changed this loop. Call
+	 * after every ButtonEvents.update(), before run().
+	 */
+	public void poll() {
+		for (int s = 0; s < sticks.length; s++) {
+			ButtonEvents stick = sticks[s];
+			int pressed = stick.getPressed();
+			int changed = (pressed | stick.getReleased()) & bound[s];
+			while (changed != 0) {
+				int index = Integer.numberOfTrailingZeros(changed);
+				changed &= changed - 1;
+				boolean down = (pressed & (1 << index)) != 0;
+				for (Binding binding = bindings[s][index]; binding != null; binding = binding.next) {
+					if (binding.action != null) {
+						if (down) {
+							if (binding.subsystem != NONE) {
+								cancel(binding.subsystem);
+							}
+							binding.action.run();
+						}
+					} else if (down) {
+						cancel(binding.subsystem);
+						owners[binding.subsystem] = binding.command;
+						binding.command.start();
+					} else if (owners[binding.subsystem] == binding.command) {
+						cancel(binding.subsystem);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs whatever owns the subsystem for one loop, or its default if no
+	 * button does.
+	 */
+	public void run(int subsystem) {
+		if (owners[subsystem] == null) {
+			if (defaults[subsystem] == null) {
+				return;
+			}
+			owners[subsystem] = defaults[subsystem];
+			owners[subsystem].start();
+		}
+		owners[subsystem].execute();
+	}
+
+	//Ends Whatever Owns the Subsystem, It Goes Back to Its Default Next run()
+	public void cancel(int subsystem) {
+		Command owner = owners[subsystem];
+		if (owner != null) {
+			owners[subsystem] = null;
+			owner.end();
+		}
+	}
+
+	//Ends Every Command, for reset() and the Start of a Mode
+	public void cancelAll() {
+		for (int i = 0; i < SUBSYSTEMS; i++) {
+			cancel(i);
+		}
+	}
+
+	//The Command Running a Subsystem, or Null
+	public Command getOwner(int subsystem) {
+		return owners[subsystem];
+	}
+}
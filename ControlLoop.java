@@ -0,0 +1,118 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the closed loop controllers (drive and lift) every 5 ms on their own
+ * thread, four times as often as the 20 ms robot loop. The last task sends
+ * every motor output (see OutputStage).
+ *
+ * The robot loop never calls the controllers directly. It sends them
+ * setpoints through a SetpointHandoff and checks back once a loop. The
+ * thread sleeps until a fixed schedule (next tick = last tick + period),
+ * so its rate does not drift with how long the controllers take. If a
+ * tick runs late it is counted and the schedule starts over from now
+ * instead of running several ticks back to back.
+ *
+ * The simulator does not start the thread. It calls runOnce() between
+ * physics steps instead, so a simulated match is the same every time.
+ */
+public class ControlLoop {
+	public static final double PERIOD = 0.005;
+	private static final long PERIOD_NANOS = 5000000L;
+
+	/**
+	 * Something to run on every control tick.
+	 */
+	public interface Task {
+		void run(double time);
+	}
+
+	private final RobotIO.Clock clock;
+	private final Task[] tasks;
+	private Thread thread;
+	private volatile boolean running = false;
+	private volatile long ticks = 0;
+	private volatile long overruns = 0;
+
+	public ControlLoop(RobotIO.Clock clock, Task... tasks) {
+		this.clock = clock;
+		this.tasks = tasks;
+	}
+
+	/**
+	 * Starts the control thread. Only the real robot calls this.
+	 */
+	public synchronized void start() {
+		if (thread != null) {
+			return;
+		}
+		running = true;
+		thread = new Thread(this::loop, "Control Loop");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MAX_PRIORITY);
+		thread.start();
+	}
+
+	public synchronized void stop() {
+		if (thread == null) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		thread = null;
+	}
+
+	/**
+	 * Runs every task once at the current clock time.
+	 */
+	public void runOnce() {
+		double time = clock.getTime();
+		for (Task task : tasks) {
+			task.run(time);
+		}
+		ticks++;
+	}
+
+	private void loop() {
+		long next = System.nanoTime();
+		while (running) {
+			runOnce();
+
+			next += PERIOD_NANOS;
+			long now = System.nanoTime();
+			if (now >= next) {
+				overruns++;
+				next = now;
+				continue;
+			}
+
+			//parkNanos Can Wake Early, So Keep Waiting Until the Tick Is Due
+			long wait;
+			while (running && (wait = next - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+		}
+	}
+
+	public long getTicks() {
+		return ticks;
+	}
+
+	//Ticks That Started Late
+	public long getOverruns() {
+		return overruns;
+	}
+}
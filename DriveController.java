@@ -0,0 +1,221 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Drives each side of the robot a set distance using both drive encoders.
+ *
+ * A trapezoid profile says where each side should be at each moment. Each
+ * side gets feedforward from the profile's speed and acceleration plus its
+ * own PID on the position error. A heading term keeps the difference
+ * between the two sides on the profile too, so the robot drives straight
+ * (or turns in place) even though one gearbox is slower than the other.
+ *
+ * Distances are in feet with forward positive on both sides. There is only
+ * one of these (RobotLogic.driveController) since only one step drives at
+ * a time.
+ *
+ * The robot loop sends moves with command() and cancel(). The controller
+ * itself runs on the control thread (run() is a ControlLoop task). The
+ * drive motors are handed over to it with each move, and the robot loop
+ * takes them back (stopped) on cancel() or once latch() sees the move
+ * finished, so only one thread ever decides what the drive motors get.
+ */
+public class DriveController {
+	//Keep Correcting This Long After the Profile Ends Before Giving Up
+	static final double SETTLE_TIME = 0.5;
+
+	private final RobotLogic robot;
+	private final double footCount;
+	private final PidController leftPid;
+	private final PidController rightPid;
+	private final double kV, kA, headingKP, tolerance;
+	private final double driveMaxVelocity, driveMaxAcceleration;
+	private final double turnMaxVelocity, turnMaxAcceleration;
+
+	//Moves From the Robot Loop
+	private final SetpointHandoff setpoint = new SetpointHandoff();
+
+	//Current Move, Control Thread Only
+	private final TrapezoidProfile profile = new TrapezoidProfile();
+	private boolean moving = false;
+	private double leftScale, rightScale;
+	private double startTime, lastTime;
+	private volatile int leftStart, rightStart;
+	private volatile double leftError, rightError;
+
+	public DriveController(RobotLogic robot, AutoTuning tuning) {
+		this.robot = robot;
+		footCount = tuning.footCount;
+		leftPid = new PidController(tuning.driveKP, tuning.driveKI, tuning.driveKD, 0.2);
+		rightPid = new PidController(tuning.driveKP, tuning.driveKI, tuning.driveKD, 0.2);
+		kV = tuning.driveKV;
+		kA = tuning.driveKA;
+		headingKP = tuning.headingKP;
+		tolerance = tuning.driveTolerance;
+		driveMaxVelocity = tuning.driveMaxVelocity;
+		driveMaxAcceleration = tuning.driveMaxAcceleration;
+		turnMaxVelocity = tuning.turnMaxVelocity;
+		turnMaxAcceleration = tuning.turnMaxAcceleration;
+	}
+
+	/**
+	 * Robot loop: starts a move, measured from wherever the encoders are
+	 * when the control thread picks it up. Equal distances drive straight,
+	 * opposite ones turn in place.
+	 */
+	public void command(double leftFeet, double rightFeet) {
+		setpoint.set(leftFeet, rightFeet, 0.0);
+		robot.handOverDrive(this);
+	}
+
+	/**
+	 * Robot loop: stops the current move and takes the motors back.
+	 */
+	public void cancel() {
+		setpoint.clear();
+		robot.takeBackDrive(this);
+	}
+
+	//Robot Loop: Call Once at the Top of Each Loop
+	public void latch() {
+		setpoint.latch();
+		if (setpoint.isFinished()) {
+			robot.takeBackDrive(this);
+		}
+	}
+
+	//Robot Loop: The Last Move Got There
+	public boolean isFinished() {
+		return setpoint.isFinished();
+	}
+
+	//Robot Loop: The Control Thread Owns the Drive Motors
+	public boolean isBusy() {
+		return setpoint.isBusy();
+	}
+
+	//The Commands Sent to the Control Thread, for the Match Log
+	SetpointHandoff getSetpoint() {
+		return setpoint;
+	}
+
+	/**
+	 * Replay only: the log says the move finished, so do what the control
+	 * thread did then.
+	 */
+	void replayDone() {
+		stop();
+		setpoint.markDone();
+	}
+
+	/**
+	 * Control thread: runs one tick.
+	 */
+	public void run(double time) {
+		if (setpoint.poll()) {
+			if (setpoint.isActive()) {
+				start(setpoint.get(0), setpoint.get(1), time);
+				moving = true;
+			} else if (moving) {
+				//Cancelled, the Robot Loop Already Has the Motors Back
+				moving = false;
+				stop();
+			}
+		}
+
+		if (moving && update(time)) {
+			moving = false;
+			setpoint.done();
+		}
+	}
+
+	private void start(double leftFeet, double rightFeet, double time) {
+		//Encoders Are Never Reset, So the Drive History Counts Keep Going
+		leftStart = robot.driveEncoderLeft.get();
+		rightStart = robot.driveEncoderRight.get();
+		leftPid.reset();
+		rightPid.reset();
+
+		//Profile the Longer Side, the Other Side Follows in Proportion
+		double length = Math.max(Math.abs(leftFeet), Math.abs(rightFeet));
+		leftScale = length > 0.0 ? leftFeet / length : 0.0;
+		rightScale = length > 0.0 ? rightFeet / length : 0.0;
+		boolean turning = leftFeet * rightFeet < 0.0;
+		profile.set(length,
+			turning ? turnMaxVelocity : driveMaxVelocity,
+			turning ? turnMaxAcceleration : driveMaxAcceleration);
+
+		startTime = time;
+		lastTime = time;
+		leftError = leftFeet;
+		rightError = rightFeet;
+	}
+
+	/**
+	 * Sets the drive motors for this tick.
+	 *
+	 * @return true once both sides are within tolerance after the profile
+	 *         ends (the motors are stopped then)
+	 */
+	private boolean update(double time) {
+		double t = time - startTime;
+		double dt = time - lastTime;
+		lastTime = time;
+
+		double s = profile.position(t);
+		double v = profile.velocity(t);
+		double a = profile.acceleration(t);
+
+		double left = getLeftDistance();
+		double right = getRightDistance();
+		leftError = leftScale * s - left;
+		rightError = rightScale * s - right;
+
+		if (profile.isFinished(t)
+				&& ((Math.abs(leftError) < tolerance && Math.abs(rightError) < tolerance)
+					|| t > profile.getTotalTime() + SETTLE_TIME)) {
+			stop();
+			return true;
+		}
+
+		//Keeps (Right - Left) on the Profile, Which Is the Heading
+		double heading = headingKP * ((rightScale - leftScale) * s - (right - left));
+
+		double leftOutput = kV * leftScale * v + kA * leftScale * a + leftPid.calculate(leftError, dt) - heading;
+		double rightOutput = kV * rightScale * v + kA * rightScale * a + rightPid.calculate(rightError, dt) + heading;
+		robot.controlDrive(clamp(leftOutput), clamp(rightOutput));
+		return false;
+	}
+
+	//Only Reaches the Motors While They're Handed Over, Otherwise It Just Clears Our Value
+	private void stop() {
+		robot.controlDrive(0.0, 0.0);
+	}
+
+	//Feet Since the Move Started, Left Encoder Counts Down Going Forward
+	public double getLeftDistance() {
+		return -(robot.driveEncoderLeft.get() - leftStart) / footCount;
+	}
+
+	public double getRightDistance() {
+		return (robot.driveEncoderRight.get() - rightStart) / footCount;
+	}
+
+	public double getLeftError() {
+		return leftError;
+	}
+
+	public double getRightError() {
+		return rightError;
+	}
+
+	private static double clamp(double output) {
+		return Math.max(-1.0, Math.min(1.0, output));
+	}
+}
@@ -0,0 +1,138 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * The last second or so of drive encoder counts and heading, one sample
+ * per control tick, so we can look up where the robot was when a camera
+ * frame was captured.
+ *
+ * Samples live in fixed arrays used as a ring, so adding one never
+ * allocates. Exactly one thread (the control thread) calls add(). Any
+ * number of threads can call sample() and latest() without locking: they
+ * only read samples well behind the newest one, check afterwards that the
+ * writer hasn't come all the way round the ring since, and try again if it
+ * has.
+ */
+public class DriveHistory {
+	//Samples Kept, 1.28 Seconds at 200 Hz (Must Be a Power of Two)
+	public static final int CAPACITY = 256;
+	private static final int MASK = CAPACITY - 1;
+	//Oldest Samples Readers Stay Away From, Since the Writer Could Reach Them Mid-Read
+	private static final int GUARD = 16;
+
+	/**
+	 * One sample, filled in by sample() and latest().
+	 */
+	public static class Sample {
+		public double time;
+		//Raw Counts, Left Counts Down Going Forward
+		public double left;
+		public double right;
+		//Radians, Counter-Clockwise Positive
+		public double heading;
+	}
+
+	private final double[] times = new double[CAPACITY];
+	private final double[] lefts = new double[CAPACITY];
+	private final double[] rights = new double[CAPACITY];
+	private final double[] headings = new double[CAPACITY];
+
+	//Samples Ever Added, Bumped After Each One Is Written
+	private volatile long count = 0;
+
+	/**
+	 * Control thread: adds a sample. Times have to go up.
+	 */
+	public void add(double time, int left, int right, double heading) {
+		long next = count;
+		int index = (int) (next & MASK);
+		times[index] = time;
+		lefts[index] = left;
+		rights[index] = right;
+		headings[index] = heading;
+		count = next + 1;
+	}
+
+	/**
+	 * Fills out with the newest sample.
+	 *
+	 * @return false if nothing has been added yet
+	 */
+	public boolean latest(Sample out) {
+		long newest;
+		do {
+			newest = count - 1;
+			if (newest < 0) {
+				return false;
+			}
+			copy((int) (newest & MASK), out);
+		} while (overwritten(newest));
+		return true;
+	}
+
+	/**
+	 * Fills out with where the robot was at a past time, interpolating
+	 * between the samples either side of it. Times before the oldest sample
+	 * kept get the oldest one, times after the newest get the newest.
+	 *
+	 * @return false if nothing has been added yet
+	 */
+	public boolean sample(double time, Sample out) {
+		long oldest;
+		do {
+			long end = count;
+			if (end == 0) {
+				return false;
+			}
+			oldest = Math.max(0, end - CAPACITY + GUARD);
+			long newest = end - 1;
+
+			if (time >= times[(int) (newest & MASK)]) {
+				copy((int) (newest & MASK), out);
+			} else if (time <= times[(int) (oldest & MASK)]) {
+				copy((int) (oldest & MASK), out);
+			} else {
+				//Last Sample at or Before time
+				long low = oldest;
+				long high = newest;
+				while (high - low > 1) {
+					long middle = (low + high) >>> 1;
+					if (times[(int) (middle & MASK)] <= time) {
+						low = middle;
+					} else {
+						high = middle;
+					}
+				}
+				interpolate((int) (low & MASK), (int) (high & MASK), time, out);
+			}
+		} while (overwritten(oldest));
+		return true;
+	}
+
+	//The Writer May Be Part Way Through the Slot After the Newest Published One
+	private boolean overwritten(long index) {
+		return count + 1 - CAPACITY > index;
+	}
+
+	private void copy(int index, Sample out) {
+		out.time = times[index];
+		out.left = lefts[index];
+		out.right = rights[index];
+		out.heading = headings[index];
+	}
+
+	private void interpolate(int before, int after, double time, Sample out) {
+		double span = times[after] - times[before];
+		double t = span > 0.0 ? (time - times[before]) / span : 0.0;
+		out.time = time;
+		out.left = lefts[before] + (lefts[after] - lefts[before]) * t;
+		out.right = rights[before] + (rights[after] - rights[before]) * t;
+		out.heading = headings[before] + (headings[after] - headings[before]) * t;
+	}
+}
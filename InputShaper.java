@@ -0,0 +1,92 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Turns one joystick axis into a motor output, in this order:
+ * - Deadband: anything near the middle is 0, and the rest is stretched so
+ *   the output still starts from 0 right at the edge of the deadband.
+ * - Expo: a curve that gives finer control near the middle and still
+ *   reaches full at the end. Worked out once into a lookup table.
+ * - Scale: multiplied by a speed (like driveSpeed), so switching to slow
+ *   mode eases in through the slew limit instead of jumping.
+ * - Slew limit: the output can only move so fast, with separate limits
+ *   for speeding up and slowing down (slowing down is usually allowed to
+ *   be quicker so the robot still stops when the stick is let go).
+ *
+ * Keeps the last output, so use one per axis. Nothing is allocated after
+ * it is made.
+ */
+public class InputShaper {
+	//Lookup Table Entries From 0 to Full Stick
+	static final int TABLE_SIZE = 256;
+	//Longest Time Step Used, in Case the Loop Stalls
+	static final double MAX_DT = 0.1;
+
+	private final double deadband;
+	private final double riseRate;
+	private final double fallRate;
+	private final double[] table = new double[TABLE_SIZE + 1];
+	private double value = 0.0;
+
+	/**
+	 * @param deadband stick travel from the middle that counts as 0
+	 * @param expo 0 for a straight line, up to 1 for all cubic
+	 * @param riseRate most the output can grow per second
+	 * @param fallRate most the output can shrink (toward 0) per second
+	 */
+	public InputShaper(double deadband, double expo, double riseRate, double fallRate) {
+		this.deadband = deadband;
+		this.riseRate = riseRate;
+		this.fallRate = fallRate;
+		for (int i = 0; i <= TABLE_SIZE; i++) {
+			double x = (double) i / TABLE_SIZE;
+			table[i] = expo * x * x * x + (1.0 - expo) * x;
+		}
+	}
+
+	/**
+	 * Moves the output toward the shaped stick value.
+	 *
+	 * @param input raw axis, -1 to 1
+	 * @param scale what full stick comes out as
+	 * @param dt seconds since the last call
+	 * @return the new output
+	 */
+	public double shape(double input, double scale, double dt) {
+		double target = curve(input) * scale;
+
+		//Speeding Up Means Getting Further From 0 Without Changing Direction
+		boolean speedingUp = value == 0.0
+			|| (Math.signum(target) == Math.signum(value) && Math.abs(target) > Math.abs(value));
+		double limit = (speedingUp ? riseRate : fallRate) * Math.max(0.0, Math.min(MAX_DT, dt));
+		value += Math.max(-limit, Math.min(limit, target - value));
+		return value;
+	}
+
+	//Deadband and Expo Only, -1 to 1
+	double curve(double input) {
+		double magnitude = Math.min(1.0, Math.abs(input));
+		if (magnitude <= deadband) {
+			return 0.0;
+		}
+		double position = (magnitude - deadband) / (1.0 - deadband) * TABLE_SIZE;
+		int index = Math.min(TABLE_SIZE - 1, (int) position);
+		double shaped = table[index] + (table[index + 1] - table[index]) * (position - index);
+		return input < 0.0 ? -shaped : shaped;
+	}
+
+	public double get() {
+		return value;
+	}
+
+	//Back to 0 Straight Away, for the Start of a Mode
+	public void reset() {
+		value = 0.0;
+	}
+}
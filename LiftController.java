@@ -0,0 +1,244 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Everything that moves the lift, run on the control thread.
+ *
+ * There are three kinds of command:
+ * - moveTo(count) runs a trapezoid profile to an encoder count with
+ *   feedforward plus PID, then keeps holding there. Presets (floor,
+ *   switch, scale) are just moveTo() calls.
+ * - manual(speed) runs at a speed, for the driver's up and down buttons.
+ *   It slows down near the top and bottom like the old teleop code did.
+ * - hold() keeps the lift where it is after a manual move.
+ *
+ * In every mode the lift never goes up past the top reed switch or the
+ * top soft limit, and never goes down past the bottom reed switch or below
+ * count 0, so a bottom reed switch that fails or slips still can't run the
+ * lift into the hard stop. The encoder is zeroed whenever the lift is
+ * sitting on the bottom reed switch.
+ *
+ * Works like DriveController: the robot loop sends commands and run() is a
+ * ControlLoop task. Sending the same command again is ignored, so the robot
+ * loop can call these every loop while a button is held. The lift motors
+ * are handed over with the first command and only taken back by cancel(),
+ * since the lift keeps holding after a move finishes.
+ */
+public class LiftController {
+	//Old Teleop Slow Zones, and the Most Speed Allowed in Them
+	static final int SLOW_UP_COUNT = 20000;
+	static final int SLOW_DOWN_COUNT = 3000;
+	static final double SLOW_UP_SPEED = 0.7;
+	static final double SLOW_DOWN_SPEED = 0.5;
+
+	//Command Types
+	private static final int IDLE = 0;
+	private static final int POSITION = 1;
+	private static final int MANUAL = 2;
+	private static final int HOLD = 3;
+
+	private final RobotLogic robot;
+	private final PidController pid;
+	private final double kV, kG, tolerance;
+	private final double maxVelocity, maxAcceleration;
+	private final int maxCount;
+
+	//Moves From the Robot Loop
+	private final SetpointHandoff setpoint = new SetpointHandoff();
+	private int lastType = IDLE;
+	private double lastValue;
+
+	//Current Move, Control Thread Only
+	private final TrapezoidProfile profile = new TrapezoidProfile();
+	private int type = IDLE;
+	private double speed;
+	private double startCount, targetCount;
+	private double startTime, lastTime;
+	private boolean arrived;
+	private volatile double error;
+
+	public LiftController(RobotLogic robot, AutoTuning tuning) {
+		this.robot = robot;
+		pid = new PidController(tuning.liftKP, tuning.liftKI, tuning.liftKD, 0.2);
+		kV = tuning.liftKV;
+		kG = tuning.liftKG;
+		tolerance = tuning.liftTolerance;
+		maxVelocity = tuning.liftMaxVelocity;
+		maxAcceleration = tuning.liftMaxAcceleration;
+		maxCount = tuning.liftMaxCount;
+	}
+
+	/**
+	 * Robot loop: profiles the lift to an encoder count and holds it there.
+	 * isFinished() goes true once it gets there.
+	 */
+	public void moveTo(double count) {
+		send(POSITION, Math.max(0, Math.min(maxCount, count)));
+	}
+
+	/**
+	 * Robot loop: runs the lift at a speed (up is positive), inside the
+	 * limits.
+	 */
+	public void manual(double speed) {
+		send(MANUAL, speed);
+	}
+
+	/**
+	 * Robot loop: stops a manual move and holds the lift where it is. Does
+	 * nothing after a moveTo(), which already holds.
+	 */
+	public void hold() {
+		if (lastType == MANUAL) {
+			send(HOLD, 0.0);
+		}
+	}
+
+	/**
+	 * Robot loop: turns the lift off and hands the motors back.
+	 */
+	public void cancel() {
+		lastType = IDLE;
+		setpoint.clear();
+		robot.liftMotors.takeBack(this);
+	}
+
+	private void send(int type, double value) {
+		if (type != lastType || value != lastValue) {
+			lastType = type;
+			lastValue = value;
+			setpoint.set(type, value, 0.0);
+			robot.liftMotors.handOver(this);
+		}
+	}
+
+	//Robot Loop: Call Once at the Top of Each Loop
+	public void latch() {
+		setpoint.latch();
+	}
+
+	//Robot Loop: The Last moveTo() Got There
+	public boolean isFinished() {
+		return setpoint.isFinished();
+	}
+
+	//Robot Loop: The Control Thread Is Setting the Lift Motors
+	public boolean ownsMotor() {
+		return setpoint.hasCommand();
+	}
+
+	//The Commands Sent to the Control Thread, for the Match Log
+	SetpointHandoff getSetpoint() {
+		return setpoint;
+	}
+
+	/**
+	 * Replay only: the log says the move got there.
+	 */
+	void replayDone() {
+		setpoint.markDone();
+	}
+
+	/**
+	 * Control thread: runs one tick.
+	 */
+	public void run(double time) {
+		int count = robot.liftEncoder.get();
+		boolean atTop = !robot.reedSwitchTop.get();
+		boolean atBottom = !robot.reedSwitchBot.get();
+
+		//Re-Zero on the Bottom Reed Switch
+		if (atBottom && count != 0) {
+			robot.liftEncoder.reset();
+			count = 0;
+		}
+
+		if (setpoint.poll()) {
+			start(setpoint.isActive() ? (int) setpoint.get(0) : IDLE, setpoint.get(1), count, time);
+		}
+
+		double output;
+		switch (type) {
+			case POSITION:
+			case HOLD:
+				output = position(count, time, atBottom);
+				break;
+			case MANUAL:
+				output = speed;
+				if (count >= SLOW_UP_COUNT) {
+					output = Math.min(output, SLOW_UP_SPEED);
+				} else if (count <= SLOW_DOWN_COUNT) {
+					output = Math.max(output, -SLOW_DOWN_SPEED);
+				}
+				break;
+			default:
+				return;
+		}
+
+		//Soft Limits and Reed Switches at Both Ends
+		if (output > 0.0 && (atTop || count >= maxCount)) {
+			output = 0.0;
+		} else if (output < 0.0 && (atBottom || count <= 0)) {
+			output = 0.0;
+		}
+		robot.liftMotors.setFromControl(Math.max(-1.0, Math.min(1.0, output)));
+	}
+
+	private void start(int type, double value, int count, double time) {
+		this.type = type;
+		pid.reset();
+		startTime = time;
+		lastTime = time;
+		arrived = false;
+
+		switch (type) {
+			case POSITION:
+				startCount = count;
+				targetCount = value;
+				break;
+			case HOLD:
+				startCount = count;
+				targetCount = count;
+				break;
+			case MANUAL:
+				speed = value;
+				break;
+			default:
+				//Cancelled, the Robot Loop Already Has the Motors Back
+				robot.liftMotors.setFromControl(0.0);
+				return;
+		}
+		profile.set(targetCount - startCount, maxVelocity, maxAcceleration);
+	}
+
+	private double position(int count, double time, boolean atBottom) {
+		double t = time - startTime;
+		double dt = time - lastTime;
+		lastTime = time;
+
+		double goal = startCount + profile.position(t);
+		error = goal - count;
+
+		if (!arrived && profile.isFinished(t) && Math.abs(targetCount - count) < tolerance) {
+			arrived = true;
+			setpoint.done();
+		}
+
+		//Resting on the Bottom, Nothing to Hold Up
+		if (targetCount <= 0 && atBottom) {
+			return 0.0;
+		}
+
+		return kG + kV * profile.velocity(t) + pid.calculate(error, dt);
+	}
+
+	public double getError() {
+		return error;
+	}
+}
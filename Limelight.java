@@ -0,0 +1,112 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Talks to the Limelight over its "limelight" NetworkTable.
+ *
+ * All entries are looked up once. tx/ty/ta/tv/tl are pushed to us by
+ * NetworkTables listeners (on the NetworkTables thread) and kept as the
+ * latest values, so the robot loop never has to look anything up. camMode
+ * and ledMode are only written when they actually change.
+ */
+public class Limelight implements RobotIO.Vision {
+	//Time Between Capture and the Pipeline Starting, Not Included in tl
+	private static final double CAPTURE_LATENCY = 0.011;
+
+	private final NetworkTableEntry camMode;
+	private final NetworkTableEntry ledMode;
+	private int lastCamMode = -1;
+	private int lastLedMode = -1;
+
+	//Latest Values, Written Only by the NetworkTables Thread
+	private volatile int sequence = 0;
+	private volatile double tv, tx, ty, ta, tl;
+	private volatile double timestamp;
+
+	public Limelight(NetworkTable table) {
+		camMode = table.getEntry("camMode");
+		ledMode = table.getEntry("ledMode");
+
+		int flags = EntryListenerFlags.kNew | EntryListenerFlags.kUpdate | EntryListenerFlags.kImmediate;
+		table.getEntry("tv").addListener(event -> {
+			begin();
+			tv = event.value.getDouble();
+			end();
+		}, flags);
+		table.getEntry("tx").addListener(event -> {
+			begin();
+			tx = event.value.getDouble();
+			end();
+		}, flags);
+		table.getEntry("ty").addListener(event -> {
+			begin();
+			ty = event.value.getDouble();
+			end();
+		}, flags);
+		table.getEntry("ta").addListener(event -> {
+			begin();
+			ta = event.value.getDouble();
+			end();
+		}, flags);
+		table.getEntry("tl").addListener(event -> {
+			begin();
+			tl = event.value.getDouble();
+			end();
+		}, flags);
+	}
+
+	//Listeners All Run on the One NetworkTables Thread, So Only One Writer
+	private void begin() {
+		sequence++;
+	}
+
+	private void end() {
+		timestamp = Timer.getFPGATimestamp();
+		sequence++;
+	}
+
+	/**
+	 * Copies the latest values into target without locking. Retries if a
+	 * value changed partway through the copy.
+	 */
+	@Override
+	public void read(VisionTarget target) {
+		int before;
+		do {
+			before = sequence;
+			target.valid = tv >= 1.0;
+			target.x = tx;
+			target.y = ty;
+			target.area = ta;
+			target.latency = tl / 1000.0 + CAPTURE_LATENCY;
+			target.timestamp = timestamp;
+		} while ((before & 1) != 0 || before != sequence);
+	}
+
+	@Override
+	public void setCamMode(int mode) {
+		if (mode != lastCamMode) {
+			camMode.setDouble(mode);
+			lastCamMode = mode;
+		}
+	}
+
+	@Override
+	public void setLedMode(int mode) {
+		if (mode != lastLedMode) {
+			ledMode.setDouble(mode);
+			lastLedMode = mode;
+		}
+	}
+}
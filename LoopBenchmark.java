@@ -0,0 +1,172 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the pieces of the control loop against SimHardware and reports
+ * nanoseconds and bytes allocated per call.
+ *
+ * Each benchmark is warmed up so the JIT has compiled it, then run for a
+ * few fixed-length rounds. Run it on the roboRIO (or any JVM) with:
+ *
+ *   java ...LoopBenchmark [name filter]
+ *
+ * The whole 20 ms loop has to fit, with room to spare, in the time the
+ * roboRIO gives us, so teleopPeriodic and autonomousPeriodic should stay
+ * in the microseconds and allocate nothing.
+ */
+public class LoopBenchmark {
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURE_ROUNDS = 5;
+	private static final long ROUND_NANOS = 1000000000L;
+
+	//Results Go Here So the JIT Can't Throw the Work Away
+	static volatile double sink;
+
+	/**
+	 * One thing to time. op() is called over and over.
+	 */
+	public abstract static class Benchmark {
+		final String name;
+
+		protected Benchmark(String name) {
+			this.name = name;
+		}
+
+		protected abstract void op();
+	}
+
+	public static List<Benchmark> benchmarks() {
+		List<Benchmark> list = new ArrayList<>();
+
+		list.add(new Benchmark("teleopPeriodic") {
+			final Simulation sim = teleop();
+
+			@Override
+			protected void op() {
+				sim.logic.teleopPeriodic();
+				sim.logic.robotPeriodic();
+			}
+		});
+
+		list.add(new Benchmark("autonomousPeriodic") {
+			final Simulation sim = new Simulation();
+			final AutoRoutine routine = sim.logic.getAutoRoutines().getRoutines()[4];
+
+			{
+				sim.logic.autonomousInit(routine, "RLR");
+			}
+
+			@Override
+			protected void op() {
+				sim.logic.autonomousPeriodic();
+				sim.logic.robotPeriodic();
+				sim.advance();
+				if (routine.isFinished()) {
+					sim.logic.autonomousInit(routine, "RLR");
+				}
+			}
+		});
+
+		list.add(new Benchmark("tankDrive") {
+			final Simulation sim = new Simulation();
+			double speed = 0.0;
+
+			@Override
+			protected void op() {
+				speed = speed > 1.0 ? -1.0 : speed + 0.001;
+				sim.logic.tankDrive(speed, -speed);
+			}
+		});
+
+		list.add(new Benchmark("inputShaper") {
+			final InputShaper shaper = new InputShaper(0.05, 0.3, 3.0, 6.0);
+			double input = 0.0;
+
+			@Override
+			protected void op() {
+				input = input > 1.0 ? -1.0 : input + 0.01;
+				sink = shaper.shape(input, 0.75, 0.02);
+			}
+		});
+
+		list.add(new Benchmark("simStep") {
+			final Simulation sim = teleop();
+
+			@Override
+			protected void op() {
+				sim.sim.step(Simulation.LOOP_PERIOD);
+			}
+		});
+
+		return list;
+	}
+
+	//A Simulated Robot in Teleop With the Sticks Pushed Forward
+	private static Simulation teleop() {
+		Simulation sim = new Simulation();
+		sim.sim.joystickLeft.y = -0.6;
+		sim.sim.joystickRight.y = -0.6;
+		sim.logic.teleopInit();
+		return sim;
+	}
+
+	/**
+	 * Runs one benchmark and returns {ns/op, bytes/op}.
+	 */
+	public static double[] run(Benchmark benchmark) {
+		com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			round(benchmark);
+		}
+
+		long ops = 0;
+		long nanos = 0;
+		long bytesBefore = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < MEASURE_ROUNDS; i++) {
+			long start = System.nanoTime();
+			ops += round(benchmark);
+			nanos += System.nanoTime() - start;
+		}
+		long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+
+		return new double[] {(double) nanos / ops, (double) bytes / ops};
+	}
+
+	//Calls op() in Batches Until a Round's Time Is Up
+	private static long round(Benchmark benchmark) {
+		long end = System.nanoTime() + ROUND_NANOS;
+		long ops = 0;
+		do {
+			for (int i = 0; i < 1000; i++) {
+				benchmark.op();
+			}
+			ops += 1000;
+		} while (System.nanoTime() < end);
+		return ops;
+	}
+
+	public static void main(String[] args) {
+		String filter = args.length > 0 ? args[0] : "";
+
+		System.out.printf("%-20s %12s %12s%n", "Benchmark", "ns/op", "bytes/op");
+		for (Benchmark benchmark : benchmarks()) {
+			if (benchmark.name.contains(filter)) {
+				double[] result = run(benchmark);
+				System.out.printf("%-20s %12.1f %12.2f%n", benchmark.name, result[0], result[1]);
+			}
+		}
+	}
+}
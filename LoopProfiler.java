@@ -0,0 +1,208 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Times each part of the robot loop and keeps a histogram of those times
+ * for each mode, so we can see where the 20 ms goes and how bad the worst
+ * loops are.
+ *
+ * Call begin() at the top of a periodic function, mark() after each
+ * section, and end() at the very end of the loop. All the histograms are
+ * allocated up front; recording is a few array writes.
+ *
+ * Histogram buckets are log-linear like an HdrHistogram: 16 buckets for
+ * every power of two, so any value is off by at most about 6%.
+ */
+public class LoopProfiler {
+	//Modes
+	public static final int AUTO = 0;
+	public static final int TELEOP = 1;
+	private static final String[] MODE_NAMES = {"Auto", "Teleop"};
+
+	//Section 0 Is Always the Whole Loop
+	public static final int TOTAL = 0;
+
+	//Bucket Layout
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	//Anything Over About 2 Seconds Goes in the Last Bucket
+	private static final long MAX_VALUE = (1L << 31) - 1;
+	private static final int BUCKETS = bucket(MAX_VALUE) + 1;
+
+	private final int sections;
+	private final int[] counts;
+	private final long[] samples;
+	private final long[] max;
+
+	//Current Loop
+	private int mode;
+	private boolean active = false;
+	private long loopStart;
+	private long last;
+	private final long[] loopTimes;
+	private final boolean[] marked;
+
+	//Dashboard Values [mode][section]
+	private final Telemetry.NumberValue[][] p50;
+	private final Telemetry.NumberValue[][] p99;
+	private final Telemetry.NumberValue[][] maxValues;
+	private int nextPublish = 0;
+
+	/**
+	 * @param sectionNames names of the sections; their ids start at 1
+	 */
+	public LoopProfiler(Telemetry telemetry, String... sectionNames) {
+		sections = sectionNames.length + 1;
+		counts = new int[MODE_NAMES.length * sections * BUCKETS];
+		samples = new long[MODE_NAMES.length * sections];
+		max = new long[MODE_NAMES.length * sections];
+		loopTimes = new long[sections];
+		marked = new boolean[sections];
+
+		p50 = new Telemetry.NumberValue[MODE_NAMES.length][sections];
+		p99 = new Telemetry.NumberValue[MODE_NAMES.length][sections];
+		maxValues = new Telemetry.NumberValue[MODE_NAMES.length][sections];
+		for (int m = 0; m < MODE_NAMES.length; m++) {
+			for (int s = 0; s < sections; s++) {
+				String name = MODE_NAMES[m] + " Profile/" + (s == TOTAL ? "Total" : sectionNames[s - 1]);
+				p50[m][s] = telemetry.addNumber(name + " p50 (ms)");
+				p99[m][s] = telemetry.addNumber(name + " p99 (ms)");
+				maxValues[m][s] = telemetry.addNumber(name + " max (ms)");
+			}
+		}
+	}
+
+	/**
+	 * Starts timing a loop.
+	 */
+	public void begin(int mode) {
+		this.mode = mode;
+		active = true;
+		loopStart = System.nanoTime();
+		last = loopStart;
+		for (int s = 0; s < sections; s++) {
+			loopTimes[s] = 0;
+			marked[s] = false;
+		}
+	}
+
+	/**
+	 * Charges the time since the last mark (or begin) to a section. A section
+	 * can be marked more than once a loop; the times add up.
+	 */
+	public void mark(int section) {
+		if (!active) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		loopTimes[section] += now - last;
+		marked[section] = true;
+		last = now;
+	}
+
+	/**
+	 * Finishes the loop, records every section that ran, and sends the
+	 * stats for one section to the dashboard.
+	 */
+	public void end() {
+		if (!active) {
+			return;
+		}
+
+		active = false;
+		loopTimes[TOTAL] = System.nanoTime() - loopStart;
+		marked[TOTAL] = true;
+
+		for (int s = 0; s < sections; s++) {
+			if (marked[s]) {
+				record(mode, s, loopTimes[s]);
+			}
+		}
+
+		//One Section Per Loop Keeps the Work Per Loop Small
+		publish(mode, nextPublish);
+		nextPublish = (nextPublish + 1) % sections;
+	}
+
+	/**
+	 * Clears a mode's histograms. Called when the mode starts.
+	 */
+	public void reset(int mode) {
+		int from = mode * sections * BUCKETS;
+		for (int i = from; i < from + sections * BUCKETS; i++) {
+			counts[i] = 0;
+		}
+		for (int s = 0; s < sections; s++) {
+			samples[mode * sections + s] = 0;
+			max[mode * sections + s] = 0;
+		}
+	}
+
+	/**
+	 * @return the time (ns) that fraction of loops in a section were under
+	 */
+	public long percentile(int mode, int section, double fraction) {
+		long total = samples[mode * sections + section];
+		if (total == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(fraction * total));
+		int from = (mode * sections + section) * BUCKETS;
+		long seen = 0;
+		for (int b = 0; b < BUCKETS; b++) {
+			seen += counts[from + b];
+			if (seen >= target) {
+				return Math.min(highestInBucket(b), max[mode * sections + section]);
+			}
+		}
+		return max[mode * sections + section];
+	}
+
+	public long getMax(int mode, int section) {
+		return max[mode * sections + section];
+	}
+
+	private void record(int mode, int section, long nanos) {
+		int slot = mode * sections + section;
+		counts[slot * BUCKETS + bucket(nanos)]++;
+		samples[slot]++;
+		if (nanos > max[slot]) {
+			max[slot] = nanos;
+		}
+	}
+
+	private void publish(int mode, int section) {
+		p50[mode][section].set(percentile(mode, section, 0.50) / 1e6);
+		p99[mode][section].set(percentile(mode, section, 0.99) / 1e6);
+		maxValues[mode][section].set(getMax(mode, section) / 1e6);
+	}
+
+	private static int bucket(long nanos) {
+		long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	private static long highestInBucket(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
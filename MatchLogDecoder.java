@@ -0,0 +1,217 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a log written by MatchLogger, oldest record first.
+ *
+ * Run it on a laptop after copying the log off the robot:
+ *   java org.usfirst.frc.team4512.robot.MatchLogDecoder match.bin [match.csv]
+ * Without an output file the CSV goes to stdout.
+ */
+public class MatchLogDecoder {
+	private static final String[] MODE_NAMES = {"Disabled", "Auto", "Teleop"};
+
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+	private final int recordSize;
+	private final long first;
+	private final int size;
+
+	public MatchLogDecoder(File path) throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+			buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (buffer.capacity() < MatchLogger.HEADER_SIZE || buffer.getInt(MatchLogger.MAGIC_OFFSET) != MatchLogger.MAGIC) {
+			throw new IOException(path + " is not a match log");
+		}
+		int version = buffer.getInt(MatchLogger.VERSION_OFFSET);
+		if (version != MatchLogger.VERSION) {
+			throw new IOException(path + " is log version " + version + ", expected " + MatchLogger.VERSION);
+		}
+
+		recordSize = buffer.getInt(MatchLogger.RECORD_SIZE_OFFSET);
+		capacity = buffer.getInt(MatchLogger.CAPACITY_OFFSET);
+		long count = buffer.getLong(MatchLogger.COUNT_OFFSET);
+		size = (int) Math.min(count, capacity);
+		first = count - size;
+	}
+
+	//Number of Records Still in the Ring
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Reads record i (0 is the oldest one still in the file) into record.
+	 */
+	public void read(int i, MatchLogger.Record record) {
+		int base = MatchLogger.HEADER_SIZE + (int) ((first + i) % capacity) * recordSize;
+
+		record.loop = buffer.getLong(base + MatchLogger.LOOP);
+		record.time = buffer.getDouble(base + MatchLogger.TIME);
+		record.mode = buffer.get(base + MatchLogger.MODE);
+		record.reeds = buffer.get(base + MatchLogger.REEDS);
+		record.control = buffer.get(base + MatchLogger.CONTROL);
+		record.autoIndex = buffer.get(base + MatchLogger.AUTO_INDEX);
+		record.vision.valid = buffer.get(base + MatchLogger.VISION_VALID) != 0;
+		record.buttonsLeft = buffer.getInt(base + MatchLogger.BUTTONS_LEFT);
+		record.buttonsRight = buffer.getInt(base + MatchLogger.BUTTONS_RIGHT);
+		record.stickLeftY = buffer.getFloat(base + MatchLogger.STICK_LEFT_Y);
+		record.stickRightY = buffer.getFloat(base + MatchLogger.STICK_RIGHT_Y);
+		record.stickRightTwist = buffer.getFloat(base + MatchLogger.STICK_RIGHT_TWIST);
+		record.liftCount = buffer.getInt(base + MatchLogger.LIFT_COUNT);
+		record.liftRate = buffer.getFloat(base + MatchLogger.LIFT_RATE);
+		//Distances Are Unsigned 16 Bit
+		record.ultrasonics.frontLeft = buffer.getShort(base + MatchLogger.ULTRASONICS) & 0xFFFF;
+		record.ultrasonics.frontRight = buffer.getShort(base + MatchLogger.ULTRASONICS + 2) & 0xFFFF;
+		record.ultrasonics.left = buffer.getShort(base + MatchLogger.ULTRASONICS + 4) & 0xFFFF;
+		record.ultrasonics.right = buffer.getShort(base + MatchLogger.ULTRASONICS + 6) & 0xFFFF;
+		record.ultrasonics.timestamp = buffer.getDouble(base + MatchLogger.ULTRASONIC_TIMESTAMP);
+		record.ultrasonics.failures = buffer.getInt(base + MatchLogger.ULTRASONIC_FAILURES);
+		record.ultrasonics.failuresInARow = buffer.getInt(base + MatchLogger.ULTRASONIC_FAILURES_IN_A_ROW);
+		record.leftDriveCount = buffer.getInt(base + MatchLogger.LEFT_DRIVE_COUNT);
+		record.rightDriveCount = buffer.getInt(base + MatchLogger.RIGHT_DRIVE_COUNT);
+		record.leftDriveRate = buffer.getDouble(base + MatchLogger.LEFT_DRIVE_RATE);
+		record.rightDriveRate = buffer.getDouble(base + MatchLogger.RIGHT_DRIVE_RATE);
+		record.batteryVoltage = buffer.getFloat(base + MatchLogger.BATTERY_VOLTAGE);
+		for (int j = 0; j < MatchLogger.GAME_DATA_LENGTH; j++) {
+			record.gameData[j] = buffer.get(base + MatchLogger.GAME_DATA + j);
+		}
+		record.autoStartTime = buffer.getDouble(base + MatchLogger.AUTO_START_TIME);
+		record.vision.x = buffer.getDouble(base + MatchLogger.VISION_X);
+		record.vision.y = buffer.getDouble(base + MatchLogger.VISION_Y);
+		record.vision.area = buffer.getDouble(base + MatchLogger.VISION_AREA);
+		record.vision.latency = buffer.getDouble(base + MatchLogger.VISION_LATENCY);
+		record.vision.timestamp = buffer.getDouble(base + MatchLogger.VISION_TIMESTAMP);
+		for (int j = 0; j < MatchLogger.OUTPUT_COUNT; j++) {
+			record.outputs[j] = buffer.getFloat(base + MatchLogger.OUTPUTS + j * 4);
+		}
+		record.visionTurned = buffer.getDouble(base + MatchLogger.VISION_TURNED);
+		for (int j = 0; j < MatchLogger.COMMAND_COUNT; j++) {
+			record.commandCounts[j] = buffer.getInt(base + MatchLogger.COMMAND_COUNTS + j * 4);
+		}
+		for (int j = 0; j < MatchLogger.COMMAND_COUNT * SetpointHandoff.VALUES; j++) {
+			record.commandValues[j] = buffer.getFloat(base + MatchLogger.COMMAND_VALUES + j * 4);
+		}
+		record.commandsActive = buffer.get(base + MatchLogger.COMMANDS_ACTIVE);
+		record.handedOver = buffer.get(base + MatchLogger.HANDED_OVER);
+	}
+
+	//Game Data as the Driver Station Sent It, Unused Characters Are Blank
+	public static String gameData(MatchLogger.Record r) {
+		StringBuilder data = new StringBuilder();
+		for (byte b : r.gameData) {
+			data.append(b == 0 ? ' ' : (char) b);
+		}
+		return data.toString();
+	}
+
+	public static String header() {
+		return "loop,time,mode,autoIndex,gameData,autoStartTime,buttonsLeft,buttonsRight,stickLeftY,stickRightY,stickRightTwist,"
+			+ "liftCount,liftRate,leftDriveCount,rightDriveCount,leftDriveRate,rightDriveRate,batteryVoltage,reedSwitchTop,reedSwitchBot,driveDone,liftDone,pathDone,"
+			+ "visionValid,visionX,visionY,visionArea,visionLatency,visionTimestamp,visionTurned,"
+			+ "frontLeftUltrasonic,frontRightUltrasonic,leftUltrasonic,rightUltrasonic,ultrasonicTimestamp,rioduinoFailures,rioduinoFailuresInARow,"
+			+ "driveLeft,driveRight,collectorLeft,collectorRight,liftMotors,climbMotors,hookMotor,handedOver,"
+			+ "driveCommands,driveActive,driveLeftFeet,driveRightFeet,driveUnused,"
+			+ "pathCommands,pathActive,path0,path1,path2,"
+			+ "liftCommands,liftActive,liftType,liftValue,liftUnused";
+	}
+
+	public static String toCsv(MatchLogger.Record r) {
+		StringBuilder line = new StringBuilder();
+		line.append(r.loop).append(',')
+			.append(r.time).append(',')
+			.append(r.mode >= 0 && r.mode < MODE_NAMES.length ? MODE_NAMES[r.mode] : Integer.toString(r.mode)).append(',')
+			.append(r.autoIndex).append(',')
+			.append(gameData(r).trim()).append(',')
+			.append(r.autoStartTime).append(',')
+			.append(Integer.toBinaryString(r.buttonsLeft)).append(',')
+			.append(Integer.toBinaryString(r.buttonsRight)).append(',')
+			.append(r.stickLeftY).append(',')
+			.append(r.stickRightY).append(',')
+			.append(r.stickRightTwist).append(',')
+			.append(r.liftCount).append(',')
+			.append(r.liftRate).append(',')
+			.append(r.leftDriveCount).append(',')
+			.append(r.rightDriveCount).append(',')
+			.append(r.leftDriveRate).append(',')
+			.append(r.rightDriveRate).append(',')
+			.append(r.batteryVoltage).append(',')
+			.append((r.reeds & MatchLogger.REED_TOP) != 0).append(',')
+			.append((r.reeds & MatchLogger.REED_BOT) != 0).append(',')
+			.append((r.control & MatchLogger.DRIVE_DONE) != 0).append(',')
+			.append((r.control & MatchLogger.LIFT_DONE) != 0).append(',')
+			.append((r.control & MatchLogger.PATH_DONE) != 0).append(',')
+			.append(r.vision.valid).append(',')
+			.append(r.vision.x).append(',')
+			.append(r.vision.y).append(',')
+			.append(r.vision.area).append(',')
+			.append(r.vision.latency).append(',')
+			.append(r.vision.timestamp).append(',')
+			.append(r.visionTurned).append(',')
+			.append(r.ultrasonics.frontLeft).append(',')
+			.append(r.ultrasonics.frontRight).append(',')
+			.append(r.ultrasonics.left).append(',')
+			.append(r.ultrasonics.right).append(',')
+			.append(r.ultrasonics.timestamp).append(',')
+			.append(r.ultrasonics.failures).append(',')
+			.append(r.ultrasonics.failuresInARow);
+		for (float output : r.outputs) {
+			line.append(',').append(output);
+		}
+		line.append(',').append(Integer.toBinaryString(r.handedOver));
+		for (int i = 0; i < MatchLogger.COMMAND_COUNT; i++) {
+			line.append(',').append(r.commandCounts[i])
+				.append(',').append((r.commandsActive & (1 << i)) != 0);
+			for (int j = 0; j < SetpointHandoff.VALUES; j++) {
+				line.append(',').append(r.commandValues[i * SetpointHandoff.VALUES + j]);
+			}
+		}
+		return line.toString();
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: MatchLogDecoder <log file> [csv file]");
+			System.exit(1);
+		}
+
+		MatchLogDecoder log = new MatchLogDecoder(new File(args[0]));
+		PrintWriter out = args.length > 1
+			? new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[1]), StandardCharsets.UTF_8)))
+			: new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+
+		MatchLogger.Record record = new MatchLogger.Record();
+		out.println(header());
+		for (int i = 0; i < log.size(); i++) {
+			log.read(i, record);
+			out.println(toCsv(record));
+		}
+		out.flush();
+		if (args.length > 1) {
+			out.close();
+		}
+
+		System.err.printf("%d records%n", log.size());
+	}
+}
@@ -0,0 +1,313 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes one fixed size record per loop into a memory mapped ring buffer
+ * file, so we can see exactly what the robot did after a match.
+ *
+ * The file is a 64 byte header followed by capacity records. Writing a
+ * record is just a few puts into the mapped file, so it never allocates
+ * or blocks on the flash. A background thread asks the OS to write the
+ * file out once a second. The write count in the header goes up after
+ * each record, so a log cut off by a brownout is still readable, and
+ * reopening the same file after a reboot carries on where it stopped.
+ *
+ * Use MatchLogDecoder to turn a log into a CSV, and MatchReplay to run
+ * RobotLogic against a log and check it still does the same thing.
+ *
+ * Version 2 added the Limelight target, the game data, the auto that was
+ * picked and the auto start time, which replay needs. Version 3 added
+ * whether the control thread had finished its drive and lift moves.
+ * Version 4 added the drive encoder rates, which the vision heading is
+ * built from. Version 5 added PATH_DONE to the control bits. Version 6
+ * added the battery voltage. Version 7 added the lift encoder rate, so
+ * every sensor in the SensorSnapshot is logged. Version 8 added the
+ * Rioduino ultrasonic readings, when they were taken and their failures.
+ * Version 9 added the commands sent to each controller, which outputs were
+ * handed over to them, and how far the robot turned since the Limelight
+ * frame, so replay can check everything the robot loop decided.
+ */
+public class MatchLogger {
+	//Where Logs Go on the roboRIO's Flash
+	public static final String LOG_DIRECTORY = "/home/lvuser/logs";
+
+	//About 20 Minutes of 50 Hz Loops
+	public static final int DEFAULT_CAPACITY = 60000;
+
+	//Header Layout
+	static final int MAGIC = 0x34353132;
+	static final int VERSION = 9;
+	static final int HEADER_SIZE = 64;
+	static final int MAGIC_OFFSET = 0;
+	static final int VERSION_OFFSET = 4;
+	static final int RECORD_SIZE_OFFSET = 8;
+	static final int CAPACITY_OFFSET = 12;
+	static final int COUNT_OFFSET = 16;
+
+	//Record Layout
+	static final int RECORD_SIZE = 248;
+	static final int LOOP = 0;
+	static final int TIME = 8;
+	static final int MODE = 16;
+	static final int REEDS = 17;
+	static final int AUTO_INDEX = 18;
+	static final int VISION_VALID = 19;
+	static final int BUTTONS_LEFT = 20;
+	static final int BUTTONS_RIGHT = 24;
+	static final int STICK_LEFT_Y = 28;
+	static final int STICK_RIGHT_Y = 32;
+	static final int STICK_RIGHT_TWIST = 36;
+	static final int LIFT_COUNT = 40;
+	static final int LEFT_DRIVE_COUNT = 44;
+	static final int RIGHT_DRIVE_COUNT = 48;
+	static final int GAME_DATA = 52;
+	static final int GAME_DATA_LENGTH = 3;
+	static final int CONTROL = 55;
+	static final int AUTO_START_TIME = 56;
+	static final int VISION_X = 64;
+	static final int VISION_Y = 72;
+	static final int VISION_AREA = 80;
+	static final int VISION_LATENCY = 88;
+	static final int VISION_TIMESTAMP = 96;
+	static final int OUTPUTS = 104;
+	static final int OUTPUT_COUNT = 7;
+	static final int LEFT_DRIVE_RATE = 136;
+	static final int RIGHT_DRIVE_RATE = 144;
+	static final int BATTERY_VOLTAGE = 152;
+	static final int LIFT_RATE = 156;
+	static final int ULTRASONICS = 160;
+	static final int ULTRASONIC_TIMESTAMP = 168;
+	static final int ULTRASONIC_FAILURES = 176;
+	static final int ULTRASONIC_FAILURES_IN_A_ROW = 180;
+	static final int VISION_TURNED = 184;
+	static final int COMMAND_COUNTS = 192;
+	static final int COMMAND_VALUES = 204;
+	static final int COMMANDS_ACTIVE = 240;
+	static final int HANDED_OVER = 241;
+
+	//Mode Values
+	public static final int DISABLED = 0;
+	public static final int AUTO = 1;
+	public static final int TELEOP = 2;
+
+	//Reed Switch Bits (Raw Values, So Set Means No Magnet)
+	public static final int REED_TOP = 1;
+	public static final int REED_BOT = 2;
+
+	//Control Bits, Set When the Last Move Had Finished at the Top of the Loop
+	public static final int DRIVE_DONE = 1;
+	public static final int LIFT_DONE = 2;
+	public static final int PATH_DONE = 4;
+
+	//Commands Sent to the Control Thread, Also the Bits of commandsActive
+	public static final int DRIVE_COMMAND = 0;
+	public static final int PATH_COMMAND = 1;
+	public static final int LIFT_COMMAND = 2;
+	public static final int COMMAND_COUNT = 3;
+
+	static final long FLUSH_PERIOD_MS = 1000;
+
+	/**
+	 * Everything logged in one loop. RobotLogic fills one of these in place
+	 * each loop and MatchLogDecoder reads records back into one.
+	 */
+	public static class Record {
+		public long loop;
+		public double time;
+		public int mode;
+		public int reeds;
+		public int control;
+		//Index Into AutoRoutines.getRoutines(), -1 Before Auto Has Run
+		public int autoIndex = -1;
+		public double autoStartTime;
+		public final byte[] gameData = new byte[GAME_DATA_LENGTH];
+		public int buttonsLeft;
+		public int buttonsRight;
+		public float stickLeftY;
+		public float stickRightY;
+		public float stickRightTwist;
+		public int liftCount;
+		//Counts/s, Dashboard Only
+		public float liftRate;
+		public int leftDriveCount;
+		public int rightDriveCount;
+		//Raw Encoder Rates (Counts/s)
+		public double leftDriveRate;
+		public double rightDriveRate;
+		//Smoothed, What the Motor Outputs Were Corrected For
+		public float batteryVoltage;
+		//What RobotLogic Last Read From the Limelight
+		public final VisionTarget vision = new VisionTarget();
+		//What RobotLogic Last Read From the Rioduino
+		public final UltrasonicReadings ultrasonics = new UltrasonicReadings();
+		//Radians Turned Since the Limelight Frame Was Captured
+		public double visionTurned;
+		//Drive Left, Drive Right, Collector Left, Collector Right, Lift, Climb, Hook
+		public final float[] outputs = new float[OUTPUT_COUNT];
+		//Outputs a Controller Had, Bit i for outputs[i]
+		public int handedOver;
+		//Each Controller's Command Count (Commands and Clears Sent), Whether It Has One, and Its Numbers
+		public final int[] commandCounts = new int[COMMAND_COUNT];
+		public int commandsActive;
+		public final float[] commandValues = new float[COMMAND_COUNT * SetpointHandoff.VALUES];
+	}
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+	private long count;
+	private final Thread flusher;
+	private volatile boolean closed = false;
+
+	/**
+	 * Opens or creates a log file. An existing log with the same layout is
+	 * added to, anything else is started over.
+	 */
+	public static MatchLogger open(File path, int capacity) throws IOException {
+		File directory = path.getAbsoluteFile().getParentFile();
+		if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create " + directory);
+		}
+		return new MatchLogger(path, capacity);
+	}
+
+	private MatchLogger(File path, int capacity) throws IOException {
+		this.capacity = capacity;
+		long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+
+		file = new RandomAccessFile(path, "rw");
+		boolean resume = file.length() == size;
+		try {
+			buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (resume
+				&& buffer.getInt(MAGIC_OFFSET) == MAGIC
+				&& buffer.getInt(VERSION_OFFSET) == VERSION
+				&& buffer.getInt(RECORD_SIZE_OFFSET) == RECORD_SIZE
+				&& buffer.getInt(CAPACITY_OFFSET) == capacity) {
+			count = buffer.getLong(COUNT_OFFSET);
+		} else {
+			count = 0;
+			buffer.putInt(MAGIC_OFFSET, MAGIC);
+			buffer.putInt(VERSION_OFFSET, VERSION);
+			buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+			buffer.putInt(CAPACITY_OFFSET, capacity);
+			buffer.putLong(COUNT_OFFSET, 0);
+			buffer.force();
+		}
+
+		flusher = new Thread(this::flushLoop, "MatchLogger Flush");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * Copies a record into the ring, overwriting the oldest one once the
+	 * file is full. Only call this from the robot thread.
+	 */
+	public void write(Record record) {
+		int base = HEADER_SIZE + (int) (count % capacity) * RECORD_SIZE;
+
+		buffer.putLong(base + LOOP, count);
+		buffer.putDouble(base + TIME, record.time);
+		buffer.put(base + MODE, (byte) record.mode);
+		buffer.put(base + REEDS, (byte) record.reeds);
+		buffer.put(base + CONTROL, (byte) record.control);
+		buffer.put(base + AUTO_INDEX, (byte) record.autoIndex);
+		buffer.put(base + VISION_VALID, (byte) (record.vision.valid ? 1 : 0));
+		buffer.putInt(base + BUTTONS_LEFT, record.buttonsLeft);
+		buffer.putInt(base + BUTTONS_RIGHT, record.buttonsRight);
+		buffer.putFloat(base + STICK_LEFT_Y, record.stickLeftY);
+		buffer.putFloat(base + STICK_RIGHT_Y, record.stickRightY);
+		buffer.putFloat(base + STICK_RIGHT_TWIST, record.stickRightTwist);
+		buffer.putInt(base + LIFT_COUNT, record.liftCount);
+		buffer.putInt(base + LEFT_DRIVE_COUNT, record.leftDriveCount);
+		buffer.putInt(base + RIGHT_DRIVE_COUNT, record.rightDriveCount);
+		buffer.putDouble(base + LEFT_DRIVE_RATE, record.leftDriveRate);
+		buffer.putDouble(base + RIGHT_DRIVE_RATE, record.rightDriveRate);
+		buffer.putFloat(base + BATTERY_VOLTAGE, record.batteryVoltage);
+		buffer.putFloat(base + LIFT_RATE, record.liftRate);
+		buffer.putShort(base + ULTRASONICS, (short) record.ultrasonics.frontLeft);
+		buffer.putShort(base + ULTRASONICS + 2, (short) record.ultrasonics.frontRight);
+		buffer.putShort(base + ULTRASONICS + 4, (short) record.ultrasonics.left);
+		buffer.putShort(base + ULTRASONICS + 6, (short) record.ultrasonics.right);
+		buffer.putDouble(base + ULTRASONIC_TIMESTAMP, record.ultrasonics.timestamp);
+		buffer.putInt(base + ULTRASONIC_FAILURES, record.ultrasonics.failures);
+		buffer.putInt(base + ULTRASONIC_FAILURES_IN_A_ROW, record.ultrasonics.failuresInARow);
+		for (int i = 0; i < GAME_DATA_LENGTH; i++) {
+			buffer.put(base + GAME_DATA + i, record.gameData[i]);
+		}
+		buffer.putDouble(base + AUTO_START_TIME, record.autoStartTime);
+		buffer.putDouble(base + VISION_X, record.vision.x);
+		buffer.putDouble(base + VISION_Y, record.vision.y);
+		buffer.putDouble(base + VISION_AREA, record.vision.area);
+		buffer.putDouble(base + VISION_LATENCY, record.vision.latency);
+		buffer.putDouble(base + VISION_TIMESTAMP, record.vision.timestamp);
+		for (int i = 0; i < OUTPUT_COUNT; i++) {
+			buffer.putFloat(base + OUTPUTS + i * 4, record.outputs[i]);
+		}
+		buffer.putDouble(base + VISION_TURNED, record.visionTurned);
+		for (int i = 0; i < COMMAND_COUNT; i++) {
+			buffer.putInt(base + COMMAND_COUNTS + i * 4, record.commandCounts[i]);
+		}
+		for (int i = 0; i < COMMAND_COUNT * SetpointHandoff.VALUES; i++) {
+			buffer.putFloat(base + COMMAND_VALUES + i * 4, record.commandValues[i]);
+		}
+		buffer.put(base + COMMANDS_ACTIVE, (byte) record.commandsActive);
+		buffer.put(base + HANDED_OVER, (byte) record.handedOver);
+
+		//Only Counts Once the Whole Record Is There
+		record.loop = count;
+		count++;
+		buffer.putLong(COUNT_OFFSET, count);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	//Pushes Dirty Pages Out to the Flash Without Holding Up the Loop
+	private void flushLoop() {
+		while (!closed) {
+			try {
+				Thread.sleep(FLUSH_PERIOD_MS);
+			} catch (InterruptedException e) {
+				break;
+			}
+			buffer.force();
+		}
+	}
+
+	/**
+	 * Stops the flush thread and writes everything out.
+	 */
+	public void close() throws IOException {
+		closed = true;
+		flusher.interrupt();
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		buffer.force();
+		file.close();
+	}
+}
@@ -0,0 +1,344 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs RobotLogic against a match log instead of real hardware, and checks
+ * that it sets every motor to the same value it did on the field.
+ *
+ * Each record's joysticks, encoders, reed switches, Limelight target and
+ * time are fed back in, autonomousInit() and teleopInit() are called where
+ * the mode changed, and the motor outputs after each loop are compared with
+ * the logged ones. There is no waiting between loops, so a whole event of
+ * logs replays in seconds. Use it to make sure a change to the loop does
+ * not change what the robot does:
+ *   java org.usfirst.frc.team4512.robot.MatchReplay match.bin [more.bin ...]
+ *
+ * Loops are only compared after replay has seen a mode start, since a log
+ * that begins part way through auto or teleop is missing the state built
+ * up before it. A reboot (time going backwards) starts a fresh RobotLogic.
+ *
+ * The drive, path and lift controllers run on the control thread, four times
+ * per logged loop with sensor reads the log doesn't have, so replay can't
+ * run them. Instead the log says when their moves finished, and replay
+ * checks everything the robot loop decided about them: every command it
+ * sent (and cleared), and which outputs it had handed over. An output the
+ * robot loop owns is compared exactly; one a controller owns is covered by
+ * that controller's command. How far the robot had turned since the
+ * Limelight frame comes from the log too, so vision alignment replays.
+ */
+public class MatchReplay {
+	//How Many Mismatches to Print per Log
+	static final int MAX_REPORTED = 10;
+
+	private static final String[] OUTPUT_NAMES = {
+		"driveLeft", "driveRight", "collectorLeft", "collectorRight", "liftMotors", "climbMotors", "hookMotor"
+	};
+
+	//In MatchLogger's Command Order
+	private static final String[] COMMAND_NAMES = {"drive", "path", "lift"};
+
+	public static class Result {
+		public long loops;
+		public long compared;
+		public long mismatches;
+		public int modeStarts;
+		public final StringBuilder report = new StringBuilder();
+	}
+
+	private final AutoTuning tuning;
+	private final MatchLogger.Record record = new MatchLogger.Record();
+	private double time;
+
+	public MatchReplay() {
+		this(new AutoTuning());
+	}
+
+	public MatchReplay(AutoTuning tuning) {
+		this.tuning = tuning;
+	}
+
+	public Result replay(MatchLogDecoder log) {
+		Result result = new Result();
+		RobotLogic logic = null;
+		RobotIO.Output[] outputs = null;
+		SetpointHandoff[] commands = null;
+		int lastMode = MatchLogger.DISABLED;
+		double lastTime = Double.NEGATIVE_INFINITY;
+		boolean synced = false;
+
+		for (int i = 0; i < log.size(); i++) {
+			log.read(i, record);
+			result.loops++;
+
+			//Robot Rebooted
+			if (logic == null || record.time < lastTime) {
+				logic = new RobotLogic(createIO(), tuning);
+				outputs = new RobotIO.Output[] {
+					logic.driveLeft, logic.driveRight, logic.collectorLeft, logic.collectorRight,
+					logic.liftMotors, logic.climbMotors, logic.hookMotor
+				};
+				commands = new SetpointHandoff[] {
+					logic.driveController.getSetpoint(), logic.pathFollower.getSetpoint(), logic.liftController.getSetpoint()
+				};
+				logic.replayTurns(time -> record.visionTurned);
+				lastMode = MatchLogger.DISABLED;
+				synced = record.mode == MatchLogger.DISABLED;
+			}
+			lastTime = record.time;
+
+			//Mode Changes
+			if (record.mode != lastMode) {
+				if (record.mode == MatchLogger.AUTO) {
+					AutoRoutine[] routines = logic.getAutoRoutines().getRoutines();
+					AutoRoutine routine = record.autoIndex >= 0 && record.autoIndex < routines.length ? routines[record.autoIndex] : null;
+					time = record.autoStartTime;
+					logic.autonomousInit(routine, MatchLogDecoder.gameData(record).trim());
+					synced = true;
+					result.modeStarts++;
+				} else if (record.mode == MatchLogger.TELEOP) {
+					logic.teleopInit();
+					synced = true;
+					result.modeStarts++;
+				}
+				lastMode = record.mode;
+			}
+
+			//Moves the Control Thread Finished Since Last Loop
+			boolean driveDone = (record.control & MatchLogger.DRIVE_DONE) != 0;
+			boolean liftDone = (record.control & MatchLogger.LIFT_DONE) != 0;
+			boolean pathDone = (record.control & MatchLogger.PATH_DONE) != 0;
+			if (driveDone && logic.driveController.isBusy()) {
+				logic.driveController.replayDone();
+			}
+			if (pathDone && logic.pathFollower.isBusy()) {
+				logic.pathFollower.replayDone();
+			}
+			if (liftDone && !logic.liftController.isFinished()) {
+				logic.liftController.replayDone();
+			}
+
+			//One Loop
+			time = record.time;
+			if (record.mode == MatchLogger.AUTO) {
+				logic.autonomousPeriodic();
+			} else if (record.mode == MatchLogger.TELEOP) {
+				logic.teleopPeriodic();
+			}
+			logic.robotPeriodic();
+
+			//Motors Are Off While Disabled, So Only Enabled Loops Count
+			if (!synced || record.mode == MatchLogger.DISABLED) {
+				continue;
+			}
+			result.compared++;
+			for (int j = 0; j < outputs.length; j++) {
+				boolean handedOver = outputs[j].isHandedOver();
+				boolean logged = (record.handedOver & (1 << j)) != 0;
+				if (handedOver != logged) {
+					mismatch(result, OUTPUT_NAMES[j] + " handed over", logged, handedOver);
+				} else if (!handedOver) {
+					float replayed = (float) outputs[j].get();
+					if (replayed != record.outputs[j]) {
+						mismatch(result, OUTPUT_NAMES[j], record.outputs[j], replayed);
+					}
+				}
+			}
+			for (int j = 0; j < commands.length; j++) {
+				SetpointHandoff command = commands[j];
+				boolean active = command.hasCommand();
+				boolean logged = (record.commandsActive & (1 << j)) != 0;
+				if (command.getCount() != record.commandCounts[j] || active != logged) {
+					mismatch(result, COMMAND_NAMES[j] + " commands sent (and active)",
+						record.commandCounts[j] + (logged ? " (active)" : ""), command.getCount() + (active ? " (active)" : ""));
+					continue;
+				}
+				for (int k = 0; k < SetpointHandoff.VALUES; k++) {
+					float replayed = (float) command.getSent(k);
+					float sent = record.commandValues[j * SetpointHandoff.VALUES + k];
+					if (replayed != sent) {
+						mismatch(result, COMMAND_NAMES[j] + " command value " + k, sent, replayed);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private void mismatch(Result result, String what, Object logged, Object replayed) {
+		if (result.mismatches < MAX_REPORTED) {
+			result.report.append(String.format("  loop %d t=%.3f %s: logged %s, replayed %s%n",
+				record.loop, record.time, what, logged, replayed));
+		}
+		result.mismatches++;
+	}
+
+	//Hardware That Reads From the Current Record
+	private RobotIO createIO() {
+		RobotIO io = new RobotIO();
+		io.driveLeft = speed -> { };
+		io.driveRight = speed -> { };
+		io.collectorLeft = speed -> { };
+		io.collectorRight = speed -> { };
+		io.liftMotors = speed -> { };
+		io.climbMotors = speed -> { };
+		io.hookMotor = speed -> { };
+		io.driveEncoderLeft = new ReplayEncoder(() -> record.leftDriveCount, () -> record.leftDriveRate);
+		io.driveEncoderRight = new ReplayEncoder(() -> record.rightDriveCount, () -> record.rightDriveRate);
+		io.liftEncoder = new ReplayEncoder(() -> record.liftCount, () -> record.liftRate);
+		io.reedSwitchTop = () -> (record.reeds & MatchLogger.REED_TOP) != 0;
+		io.reedSwitchBot = () -> (record.reeds & MatchLogger.REED_BOT) != 0;
+		io.joystickLeft = new ReplayStick(true);
+		io.joystickRight = new ReplayStick(false);
+		io.limelight = new ReplayVision();
+		io.ultrasonics = readings -> {
+			UltrasonicReadings logged = record.ultrasonics;
+			readings.frontLeft = logged.frontLeft;
+			readings.frontRight = logged.frontRight;
+			readings.left = logged.left;
+			readings.right = logged.right;
+			readings.timestamp = logged.timestamp;
+			readings.failures = logged.failures;
+			readings.failuresInARow = logged.failuresInARow;
+		};
+		io.battery = () -> record.batteryVoltage;
+		io.clock = () -> time;
+		io.dashboard = new Telemetry.Publisher() {
+			@Override
+			public void add(int index, String key) {
+			}
+
+			@Override
+			public void putNumber(int index, double value) {
+			}
+
+			@Override
+			public void putBoolean(int index, boolean value) {
+			}
+		};
+		return io;
+	}
+
+	private interface Count {
+		int get();
+	}
+
+	private interface Rate {
+		double get();
+	}
+
+	/**
+	 * Logged counts were read after any resets that loop, so reset() has
+	 * nothing left to do.
+	 */
+	private static class ReplayEncoder implements RobotIO.Encoder {
+		private final Count count;
+		private final Rate rate;
+
+		ReplayEncoder(Count count, Rate rate) {
+			this.count = count;
+			this.rate = rate;
+		}
+
+		@Override
+		public int get() {
+			return count.get();
+		}
+
+		@Override
+		public double getRate() {
+			return rate.get();
+		}
+
+		@Override
+		public void reset() {
+		}
+	}
+
+	private class ReplayStick implements RobotIO.Stick {
+		private final boolean left;
+
+		ReplayStick(boolean left) {
+			this.left = left;
+		}
+
+		@Override
+		public double getY() {
+			return left ? record.stickLeftY : record.stickRightY;
+		}
+
+		@Override
+		public double getTwist() {
+			return left ? 0.0 : record.stickRightTwist;
+		}
+
+		@Override
+		public boolean getRawButton(int button) {
+			return (getButtons() & (1 << (button - 1))) != 0;
+		}
+
+		@Override
+		public boolean getTrigger() {
+			return getRawButton(1);
+		}
+
+		@Override
+		public int getButtons() {
+			return left ? record.buttonsLeft : record.buttonsRight;
+		}
+	}
+
+	private class ReplayVision implements RobotIO.Vision {
+		@Override
+		public void read(VisionTarget target) {
+			target.valid = record.vision.valid;
+			target.x = record.vision.x;
+			target.y = record.vision.y;
+			target.area = record.vision.area;
+			target.latency = record.vision.latency;
+			target.timestamp = record.vision.timestamp;
+		}
+
+		@Override
+		public void setCamMode(int mode) {
+		}
+
+		@Override
+		public void setLedMode(int mode) {
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: MatchReplay <log file> [log file ...]");
+			System.exit(1);
+		}
+
+		long totalLoops = 0;
+		long totalMismatches = 0;
+		long start = System.nanoTime();
+		for (String path : args) {
+			Result result = new MatchReplay().replay(new MatchLogDecoder(new File(path)));
+			System.out.printf("%s: %d loops, %d mode starts, %d compared, %d mismatches%n",
+				path, result.loops, result.modeStarts, result.compared, result.mismatches);
+			System.out.print(result.report);
+			totalLoops += result.loops;
+			totalMismatches += result.mismatches;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.err.printf("%d loops in %.2f s (%.0fx real time at 50 Hz)%n",
+			totalLoops, seconds, totalLoops * 0.02 / seconds);
+
+		if (totalMismatches > 0) {
+			System.exit(2);
+		}
+	}
+}
@@ -0,0 +1,236 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays full simulated matches (15 s auto, then teleop) for every auto on
+ * both switch sides, over a grid of tuning values, using every core.
+ *
+ * Prints one CSV line per match to stdout and a summary to stderr. Any of
+ * the KNOBS can be swept, each as start:end:step, for example:
+ *
+ *   java ...MatchSimulator driveVelocity=4:8:1 wallMax=0.5:0.8:0.1 highLift=8000:9000:250 teleop=135
+ */
+public class MatchSimulator {
+	public static final double AUTO_LENGTH = 15.0;
+	public static final double TELEOP_LENGTH = 135.0;
+
+	private static final String[] GAME_DATA = {"LRL", "RLR"};
+
+	/**
+	 * One AutoTuning value that can be swept from the command line.
+	 */
+	static class Knob {
+		interface Getter {
+			double get(AutoTuning tuning);
+		}
+
+		interface Setter {
+			void set(AutoTuning tuning, double value);
+		}
+
+		final String name;
+		final Getter getter;
+		final Setter setter;
+
+		Knob(String name, Getter getter, Setter setter) {
+			this.name = name;
+			this.getter = getter;
+			this.setter = setter;
+		}
+	}
+
+	//What the Autos Are Tuned With Now: Drive Moves, Paths, the Wall Approach and the Lift
+	static final Knob[] KNOBS = {
+		new Knob("speed", t -> t.autoSpeedRight, (t, v) -> t.autoSpeedRight = v),
+		new Knob("feet", t -> t.footCount, (t, v) -> t.footCount = (int) Math.round(v)),
+		new Knob("lift", t -> t.switchLiftCount, (t, v) -> t.switchLiftCount = (int) Math.round(v)),
+		new Knob("highLift", t -> t.highLiftCount, (t, v) -> t.highLiftCount = (int) Math.round(v)),
+		new Knob("driveVelocity", t -> t.driveMaxVelocity, (t, v) -> t.driveMaxVelocity = v),
+		new Knob("driveAccel", t -> t.driveMaxAcceleration, (t, v) -> t.driveMaxAcceleration = v),
+		new Knob("pathVelocity", t -> t.pathMaxVelocity, (t, v) -> t.pathMaxVelocity = v),
+		new Knob("pathAccel", t -> t.pathMaxAcceleration, (t, v) -> t.pathMaxAcceleration = v),
+		new Knob("wallMax", t -> t.wallMaxSpeed, (t, v) -> t.wallMaxSpeed = v),
+		new Knob("wallMin", t -> t.wallMinSpeed, (t, v) -> t.wallMinSpeed = v),
+		new Knob("wallKP", t -> t.wallSlowKP, (t, v) -> t.wallSlowKP = v),
+		new Knob("wallStop", t -> t.wallStopDistance, (t, v) -> t.wallStopDistance = v),
+	};
+
+	/**
+	 * What happened in one simulated match.
+	 */
+	public static class Result {
+		public AutoTuning tuning;
+		public String routine;
+		public char side;
+		//Where Auto Ended (Feet, Degrees)
+		public double autoX, autoY, autoHeading;
+		//Where Teleop Ended
+		public double endX, endY, endHeading;
+		public boolean cubeEjected;
+		public double cubeX, cubeY;
+		public boolean autoFinished;
+		public boolean timedOut;
+
+		static String header() {
+			StringBuilder header = new StringBuilder("routine,side");
+			for (Knob knob : KNOBS) {
+				header.append(',').append(knob.name);
+			}
+			return header.append(",autoX,autoY,autoHeading,endX,endY,endHeading,cubeEjected,cubeX,cubeY,autoFinished,timedOut")
+				.toString();
+		}
+
+		@Override
+		public String toString() {
+			//Some Auto Names Have Commas
+			StringBuilder line = new StringBuilder().append('"').append(routine).append("\",").append(side);
+			for (Knob knob : KNOBS) {
+				line.append(',').append(knob.getter.get(tuning));
+			}
+			return line.append(String.format(",%.2f,%.2f,%.1f,%.2f,%.2f,%.1f,%b,%.2f,%.2f,%b,%b",
+				autoX, autoY, autoHeading, endX, endY, endHeading, cubeEjected, cubeX, cubeY, autoFinished, timedOut))
+				.toString();
+		}
+	}
+
+	/**
+	 * Plays one match.
+	 *
+	 * @param routineIndex which entry of AutoRoutines.getRoutines() to run
+	 */
+	public static Result play(AutoTuning tuning, int routineIndex, String gameData, double teleopLength) {
+		Simulation match = new Simulation(tuning);
+		match.setUpField();
+		AutoRoutine routine = match.logic.getAutoRoutines().getRoutines()[routineIndex];
+
+		match.runAutonomous(routine, gameData, AUTO_LENGTH);
+
+		Result result = new Result();
+		result.tuning = tuning;
+		result.routine = routine.getName();
+		result.side = gameData.charAt(0);
+		result.autoX = match.sim.getX();
+		result.autoY = match.sim.getY();
+		result.autoHeading = Math.toDegrees(match.sim.getHeading());
+		result.autoFinished = routine.isFinished();
+		result.timedOut = routine.hasTimedOut();
+
+		match.runTeleop(teleopLength);
+
+		result.endX = match.sim.getX();
+		result.endY = match.sim.getY();
+		result.endHeading = Math.toDegrees(match.sim.getHeading());
+		result.cubeEjected = match.sim.isCubeEjected();
+		result.cubeX = match.sim.getCubeX();
+		result.cubeY = match.sim.getCubeY();
+		return result;
+	}
+
+	public static void main(String[] args) throws Exception {
+		//Knobs Not Given Stay at Their Defaults
+		double[][] ranges = new double[KNOBS.length][];
+		double teleop = TELEOP_LENGTH;
+
+		for (String arg : args) {
+			String[] pair = arg.split("=", 2);
+			if (pair[0].equals("teleop")) {
+				teleop = Double.parseDouble(pair[1]);
+				continue;
+			}
+			int knob = indexOf(pair[0]);
+			if (knob < 0 || pair.length < 2) {
+				throw new IllegalArgumentException("Unknown option " + arg);
+			}
+			ranges[knob] = range(pair[1]);
+		}
+
+		//Every Tuning on the Grid
+		List<AutoTuning> tunings = new ArrayList<>();
+		tunings.add(new AutoTuning());
+		for (int k = 0; k < KNOBS.length; k++) {
+			if (ranges[k] == null) {
+				continue;
+			}
+			List<AutoTuning> grid = new ArrayList<>();
+			for (AutoTuning base : tunings) {
+				for (double value = ranges[k][0]; value <= ranges[k][1] + 1e-9; value += ranges[k][2]) {
+					AutoTuning tuning = base.copy();
+					KNOBS[k].setter.set(tuning, value);
+					grid.add(tuning);
+				}
+			}
+			tunings = grid;
+		}
+
+		int routines = new Simulation().logic.getAutoRoutines().getRoutines().length;
+		int threads = Runtime.getRuntime().availableProcessors();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<Result>> matches = new ArrayList<>();
+
+		long start = System.nanoTime();
+		final double teleopLength = teleop;
+		for (AutoTuning tuning : tunings) {
+			for (int i = 0; i < routines; i++) {
+				for (String gameData : GAME_DATA) {
+					final int routine = i;
+					matches.add(pool.submit(() -> play(tuning, routine, gameData, teleopLength)));
+				}
+			}
+		}
+
+		System.out.println(Result.header());
+		int timedOut = 0;
+		int ejected = 0;
+		for (Future<Result> match : matches) {
+			Result result = match.get();
+			System.out.println(result);
+			if (result.timedOut) {
+				timedOut++;
+			}
+			if (result.cubeEjected) {
+				ejected++;
+			}
+		}
+		pool.shutdown();
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.err.printf("%d matches on %d threads in %.1f s (%.0f matches/min), %d ejected a cube, %d hit a watchDog deadline%n",
+			matches.size(), threads, seconds, matches.size() / seconds * 60.0, ejected, timedOut);
+	}
+
+	private static int indexOf(String name) {
+		for (int i = 0; i < KNOBS.length; i++) {
+			if (KNOBS[i].name.equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static double[] range(String text) {
+		String[] parts = text.split(":");
+		double start = Double.parseDouble(parts[0]);
+		double end = parts.length > 1 ? Double.parseDouble(parts[1]) : start;
+		double step = parts.length > 2 ? Double.parseDouble(parts[2]) : 1.0;
+		//A Step of 0 Would Never Reach the End
+		if (!(step > 0.0)) {
+			throw new IllegalArgumentException("Step must be more than 0 in " + text);
+		}
+		if (end < start) {
+			throw new IllegalArgumentException("End is before the start in " + text);
+		}
+		return new double[] {start, end, step};
+	}
+}
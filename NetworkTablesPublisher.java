@@ -0,0 +1,41 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Sends Telemetry values to the SmartDashboard table. The entry for each
+ * key is looked up once when it is added, so flushing is just a typed set
+ * on a cached entry (no key lookup, no boxing, no strings).
+ */
+public class NetworkTablesPublisher implements Telemetry.Publisher {
+	private final NetworkTable table;
+	private final NetworkTableEntry[] entries = new NetworkTableEntry[Telemetry.MAX_VALUES];
+
+	public NetworkTablesPublisher() {
+		table = NetworkTableInstance.getDefault().getTable("SmartDashboard");
+	}
+
+	@Override
+	public void add(int index, String key) {
+		entries[index] = table.getEntry(key);
+	}
+
+	@Override
+	public void putNumber(int index, double value) {
+		entries[index].setDouble(value);
+	}
+
+	@Override
+	public void putBoolean(int index, boolean value) {
+		entries[index].setBoolean(value);
+	}
+}
@@ -0,0 +1,126 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Keeps track of where the robot is from the drive encoders, and the gyro
+ * if there is one.
+ *
+ * Every control tick it takes how far each side went since the last tick.
+ * The average is how far the robot moved, along the heading halfway
+ * through the tick. The heading comes from the gyro when the robot has one,
+ * otherwise from the difference between the sides over the track width.
+ * Each tick is also saved to the robot's DriveHistory.
+ *
+ * run() is a ControlLoop task. The robot loop reads the pose with read(),
+ * which copies it the same way as the Limelight values, and moves it with
+ * reset(), which goes through a SetpointHandoff like a drive command.
+ */
+public class Odometry {
+	private final RobotLogic robot;
+	private final double footCount;
+	private final double trackWidth;
+
+	//Resets From the Robot Loop
+	private final SetpointHandoff resets = new SetpointHandoff();
+
+	//Control Thread Only
+	private boolean started = false;
+	private int lastLeft, lastRight;
+	private double x, y, heading;
+	private double gyroOffset;
+
+	//Latest Pose, Written Only by the Control Thread
+	private volatile int sequence = 0;
+	private volatile double poseX, poseY, poseHeading;
+
+	public Odometry(RobotLogic robot, AutoTuning tuning) {
+		this.robot = robot;
+		footCount = tuning.footCount;
+		trackWidth = tuning.trackWidth;
+	}
+
+	/**
+	 * Robot loop: says the robot is at this pose now. Takes effect on the
+	 * next control tick.
+	 *
+	 * @param heading radians, counter-clockwise positive
+	 */
+	public void reset(double x, double y, double heading) {
+		resets.set(x, y, heading);
+	}
+
+	/**
+	 * Copies the latest pose into pose without locking. Retries if the
+	 * control thread changed it partway through the copy.
+	 */
+	public void read(Pose pose) {
+		int before;
+		do {
+			before = sequence;
+			pose.x = poseX;
+			pose.y = poseY;
+			pose.heading = poseHeading;
+		} while ((before & 1) != 0 || before != sequence);
+	}
+
+	/**
+	 * Control thread: runs one tick.
+	 */
+	public void run(double time) {
+		int left = robot.driveEncoderLeft.get();
+		int right = robot.driveEncoderRight.get();
+		RobotIO.Gyro gyro = robot.gyro;
+
+		if (!started) {
+			started = true;
+			lastLeft = left;
+			lastRight = right;
+			gyroOffset = gyro != null ? gyroHeading(gyro) : 0.0;
+		}
+
+		//Left Encoder Counts Down Going Forward
+		double leftFeet = -(left - lastLeft) / footCount;
+		double rightFeet = (right - lastRight) / footCount;
+		lastLeft = left;
+		lastRight = right;
+
+		double lastHeading = heading;
+		if (gyro != null) {
+			heading = gyroHeading(gyro) - gyroOffset;
+		} else {
+			heading += (rightFeet - leftFeet) / trackWidth;
+		}
+		double distance = (leftFeet + rightFeet) / 2.0;
+		double middle = (lastHeading + heading) / 2.0;
+		x += distance * Math.cos(middle);
+		y += distance * Math.sin(middle);
+
+		if (resets.poll()) {
+			x = resets.get(0);
+			y = resets.get(1);
+			if (gyro != null) {
+				gyroOffset += heading - resets.get(2);
+			}
+			heading = resets.get(2);
+		}
+
+		sequence++;
+		poseX = x;
+		poseY = y;
+		poseHeading = heading;
+		sequence++;
+
+		robot.driveHistory.add(time, left, right, heading);
+	}
+
+	//WPILib Gyros Read Degrees Clockwise
+	private static double gyroHeading(RobotIO.Gyro gyro) {
+		return -Math.toRadians(gyro.getAngle());
+	}
+}
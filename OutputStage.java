@@ -0,0 +1,57 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * The one place motor outputs actually get sent to the motors.
+ *
+ * Teleop, the auto steps and the controllers only set() RobotIO.Outputs,
+ * which just stores the value, so setting the same motor several times in
+ * a loop (like reset() or the collector hold) costs nothing. run() is the
+ * last ControlLoop task, so every motor is committed once per control
+ * tick, right after the controllers set theirs. A motor is only written
+ * when its output changed, and separately an unchanged motor is written
+ * again every KEEPALIVE_PERIOD so motor safety never times it out.
+ *
+ * Only the control thread runs this, so each motor is only ever written
+ * by one thread. What gets written comes from whoever owns the output at
+ * the time: the robot loop, or a controller it was handed over to (see
+ * RobotIO.Output).
+ */
+public class OutputStage {
+	private final RobotIO.Output[] outputs;
+	private volatile long writes = 0;
+	private volatile long keepAlives = 0;
+
+	public OutputStage(RobotIO.Output... outputs) {
+		this.outputs = outputs;
+	}
+
+	/**
+	 * Control thread: commits every output for this tick.
+	 */
+	public void run(double time) {
+		for (RobotIO.Output output : outputs) {
+			if (output.commit(time)) {
+				writes++;
+			} else if (output.keepAlive(time)) {
+				keepAlives++;
+			}
+		}
+	}
+
+	//Motor Writes Because an Output Changed
+	public long getWrites() {
+		return writes;
+	}
+
+	//Motor Writes Only to Keep Motor Safety Happy
+	public long getKeepAlives() {
+		return keepAlives;
+	}
+}
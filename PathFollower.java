@@ -0,0 +1,180 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Drives the robot along a Trajectory using the Odometry pose.
+ *
+ * Uses the Ramsete controller: it takes the speed and turn rate the path
+ * asks for and adds corrections for how far the robot is ahead, to the
+ * side of, and turned from where the path says it should be. That speed
+ * and turn rate are split into a speed for each side, which gets
+ * feedforward like the DriveController plus a little feedback on the
+ * side's measured speed.
+ *
+ * Works like DriveController: the robot loop sends paths with follow() and
+ * cancel(), run() is a ControlLoop task (after Odometry's), and the drive
+ * motors are handed over to it for each path and taken back when it's
+ * cancelled or finished. The path has to start where
+ * the robot is, which is (0, 0) facing 0 at the start of auto.
+ */
+public class PathFollower {
+	private final RobotLogic robot;
+	private final double footCount;
+	private final double trackWidth;
+	private final double b, zeta;
+	private final double kV, kA, kP, tolerance;
+
+	//Paths From the Robot Loop, the Trajectory Is Written Before the Handoff
+	private final SetpointHandoff setpoint = new SetpointHandoff();
+	private volatile Trajectory next;
+
+	//Current Path, Control Thread Only
+	private Trajectory path;
+	private final Trajectory.State goal = new Trajectory.State();
+	private final Pose pose = new Pose();
+	private double startTime;
+	private volatile double error;
+
+	public PathFollower(RobotLogic robot, AutoTuning tuning) {
+		this.robot = robot;
+		footCount = tuning.footCount;
+		trackWidth = tuning.trackWidth;
+		b = tuning.ramseteB;
+		zeta = tuning.ramseteZeta;
+		kV = tuning.driveKV;
+		kA = tuning.driveKA;
+		kP = tuning.pathKP;
+		tolerance = tuning.driveTolerance;
+	}
+
+	/**
+	 * Robot loop: starts following a path.
+	 */
+	public void follow(Trajectory trajectory) {
+		next = trajectory;
+		setpoint.set(0.0, 0.0, 0.0);
+		robot.handOverDrive(this);
+	}
+
+	/**
+	 * Robot loop: stops following and takes the motors back.
+	 */
+	public void cancel() {
+		setpoint.clear();
+		robot.takeBackDrive(this);
+	}
+
+	//Robot Loop: Call Once at the Top of Each Loop
+	public void latch() {
+		setpoint.latch();
+		if (setpoint.isFinished()) {
+			robot.takeBackDrive(this);
+		}
+	}
+
+	//Robot Loop: Got to the End of the Last Path
+	public boolean isFinished() {
+		return setpoint.isFinished();
+	}
+
+	//Robot Loop: The Control Thread Owns the Drive Motors
+	public boolean isBusy() {
+		return setpoint.isBusy();
+	}
+
+	//The Commands Sent to the Control Thread, for the Match Log
+	SetpointHandoff getSetpoint() {
+		return setpoint;
+	}
+
+	/**
+	 * Replay only: the log says the path finished.
+	 */
+	void replayDone() {
+		robot.controlDrive(0.0, 0.0);
+		setpoint.markDone();
+	}
+
+	/**
+	 * Control thread: runs one tick.
+	 */
+	public void run(double time) {
+		if (setpoint.poll()) {
+			if (setpoint.isActive()) {
+				path = next;
+				startTime = time;
+			} else if (path != null) {
+				//Cancelled, the Robot Loop Already Has the Motors Back
+				path = null;
+				robot.controlDrive(0.0, 0.0);
+			}
+		}
+
+		if (path != null && update(time)) {
+			path = null;
+			setpoint.done();
+		}
+	}
+
+	/**
+	 * Sets the drive motors for this tick.
+	 *
+	 * @return true once the path is over and the robot is at its end (the
+	 *         motors are stopped then)
+	 */
+	private boolean update(double time) {
+		double t = time - startTime;
+		path.sample(t, goal);
+		robot.odometry.read(pose);
+
+		//Error in the Robot's Frame: Ahead, Left and Turned
+		double dx = goal.x - pose.x;
+		double dy = goal.y - pose.y;
+		double cos = Math.cos(pose.heading);
+		double sin = Math.sin(pose.heading);
+		double ahead = cos * dx + sin * dy;
+		double left = -sin * dx + cos * dy;
+		double turned = Math.atan2(Math.sin(goal.heading - pose.heading), Math.cos(goal.heading - pose.heading));
+		error = Math.hypot(dx, dy);
+
+		double total = path.getTotalTime();
+		if (t >= total && (error < tolerance || t > total + DriveController.SETTLE_TIME)) {
+			robot.controlDrive(0.0, 0.0);
+			return true;
+		}
+
+		//Ramsete
+		double v = goal.velocity;
+		double w = goal.angularVelocity;
+		double k = 2.0 * zeta * Math.sqrt(w * w + b * v * v);
+		double sinc = Math.abs(turned) < 1e-6 ? 1.0 : Math.sin(turned) / turned;
+		double speed = v * Math.cos(turned) + k * ahead;
+		double turn = w + k * turned + b * v * sinc * left;
+
+		//Left Encoder Counts Down Going Forward
+		double leftSpeed = speed - turn * trackWidth / 2.0;
+		double rightSpeed = speed + turn * trackWidth / 2.0;
+		double leftMeasured = -robot.driveEncoderLeft.getRate() / footCount;
+		double rightMeasured = robot.driveEncoderRight.getRate() / footCount;
+
+		double leftOutput = kV * leftSpeed + kA * goal.acceleration + kP * (leftSpeed - leftMeasured);
+		double rightOutput = kV * rightSpeed + kA * goal.acceleration + kP * (rightSpeed - rightMeasured);
+		robot.controlDrive(clamp(leftOutput), clamp(rightOutput));
+		return false;
+	}
+
+	//Feet Between the Robot and Where the Path Says It Should Be
+	public double getError() {
+		return error;
+	}
+
+	private static double clamp(double output) {
+		return Math.max(-1.0, Math.min(1.0, output));
+	}
+}
@@ -0,0 +1,60 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * A plain PID loop that is handed the error and the time since the last
+ * call, so whoever runs it decides the rate. Unlike WPILib's PIDController
+ * it has no thread of its own and does not allocate.
+ */
+public class PidController {
+	private final double kP;
+	private final double kI;
+	private final double kD;
+	//Largest Amount the I Term May Add, So It Can't Wind Up
+	private final double maxI;
+
+	private double integral = 0.0;
+	private double lastError = 0.0;
+	private boolean first = true;
+
+	public PidController(double kP, double kI, double kD, double maxI) {
+		this.kP = kP;
+		this.kI = kI;
+		this.kD = kD;
+		this.maxI = maxI;
+	}
+
+	/**
+	 * @param error setpoint minus measurement
+	 * @param dt seconds since the last call
+	 * @return the output
+	 */
+	public double calculate(double error, double dt) {
+		double derivative = 0.0;
+		if (!first && dt > 0.0) {
+			derivative = (error - lastError) / dt;
+		}
+		first = false;
+		lastError = error;
+
+		if (kI != 0.0) {
+			integral += error * dt;
+			double limit = maxI / kI;
+			integral = Math.max(-limit, Math.min(limit, integral));
+		}
+
+		return kP * error + kI * integral + kD * derivative;
+	}
+
+	public void reset() {
+		integral = 0.0;
+		lastError = 0.0;
+		first = true;
+	}
+}
@@ -0,0 +1,19 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Where the robot is on the field, copied out by Odometry.read(). Feet from
+ * where it was at the start of auto, x straight ahead and y to the left.
+ */
+public class Pose {
+	public double x;
+	public double y;
+	//Radians, Counter-Clockwise Positive
+	public double heading;
+}
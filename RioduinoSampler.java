@@ -0,0 +1,150 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reads the four ultrasonic sensors off the Rioduino on its own thread.
+ *
+ * An I2C transaction can take a few milliseconds, or much longer when the
+ * bus is having trouble, so it never runs in the robot loop or on the
+ * control thread. This thread does one transaction every PERIOD and keeps
+ * the latest distances, and read() copies them out without locking like
+ * the Limelight does. A failed transaction keeps the last good distances,
+ * counts the failure and leaves the timestamp alone, so anything using the
+ * distances can tell they are getting old with isFresh().
+ *
+ * The Rioduino answers with four distances in centimetres, each two bytes
+ * with the high byte first: front left, front right, left, right. Bytes in
+ * Java are signed, so each byte is masked to 0-255 before putting them
+ * together (a low byte of 200 is -56 as a byte).
+ *
+ * The simulator does not start the thread. SimHardware calls sampleOnce()
+ * every PERIOD of sim time instead.
+ */
+public class RioduinoSampler implements RobotIO.Ultrasonics {
+	//I2C Address of the Rioduino on the MXP Port
+	public static final int ADDRESS = 0x08;
+	//Seconds Between Transactions
+	public static final double PERIOD = 0.02;
+	private static final long PERIOD_NANOS = 20000000L;
+	//Bytes Each Way
+	static final int LENGTH = 8;
+
+	private final RobotIO.I2CDevice device;
+	private final RobotIO.Clock clock;
+	private final byte[] request = new byte[LENGTH];
+	private final byte[] response = new byte[LENGTH];
+	private Thread thread;
+	private volatile boolean running = false;
+
+	//Latest Values, Written Only by the Sampler Thread
+	private volatile int sequence = 0;
+	private volatile int frontLeft, frontRight, left, right;
+	private volatile double timestamp = Double.NaN;
+	private volatile int failures = 0;
+	private volatile int failuresInARow = 0;
+
+	public RioduinoSampler(RobotIO.I2CDevice device, RobotIO.Clock clock) {
+		this.device = device;
+		this.clock = clock;
+
+		//Same Request the Rioduino Has Always Been Sent
+		for (int i = 0; i < LENGTH; i++) {
+			request[i] = (byte) i;
+		}
+	}
+
+	/**
+	 * Starts the sampler thread. Only the real robot calls this.
+	 */
+	public synchronized void start() {
+		if (thread != null) {
+			return;
+		}
+		running = true;
+		thread = new Thread(this::loop, "Rioduino");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public synchronized void stop() {
+		if (thread == null) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		thread = null;
+	}
+
+	/**
+	 * Does one transaction and publishes what came back.
+	 */
+	public void sampleOnce() {
+		boolean aborted = device.transaction(request, response);
+		double time = clock.getTime();
+
+		sequence++;
+		if (aborted) {
+			failures++;
+			failuresInARow++;
+		} else {
+			frontLeft = unsigned16(response, 0);
+			frontRight = unsigned16(response, 2);
+			left = unsigned16(response, 4);
+			right = unsigned16(response, 6);
+			timestamp = time;
+			failuresInARow = 0;
+		}
+		sequence++;
+	}
+
+	//Two Bytes, High Byte First, as 0-65535
+	static int unsigned16(byte[] bytes, int index) {
+		return ((bytes[index] & 0xFF) << 8) | (bytes[index + 1] & 0xFF);
+	}
+
+	private void loop() {
+		long next = System.nanoTime();
+		while (running) {
+			sampleOnce();
+
+			//A Slow Transaction Pushes the Next One Back Instead of Running Two Back to Back
+			next = Math.max(next + PERIOD_NANOS, System.nanoTime());
+			long wait;
+			while (running && (wait = next - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+		}
+	}
+
+	/**
+	 * Copies the latest values into readings without locking. Retries if
+	 * a value changed partway through the copy.
+	 */
+	@Override
+	public void read(UltrasonicReadings readings) {
+		int before;
+		do {
+			before = sequence;
+			readings.frontLeft = frontLeft;
+			readings.frontRight = frontRight;
+			readings.left = left;
+			readings.right = right;
+			readings.timestamp = timestamp;
+			readings.failures = failures;
+			readings.failuresInARow = failuresInARow;
+		} while ((before & 1) != 0 || before != sequence);
+	}
+}
@@ -0,0 +1,250 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Every motor, sensor and joystick the robot code talks to, as plain Java
+ * interfaces. RobotLogic only ever sees these, so the same code can run on
+ * the roboRIO (WpiHardware) or on a laptop against the physics model in
+ * SimHardware.
+ *
+ * Nothing in here (or in RobotLogic) may import edu.wpi.first.*.
+ */
+public class RobotIO {
+	/**
+	 * A motor controller driven with a percent output from -1 to 1.
+	 */
+	public interface Motor {
+		void set(double speed);
+	}
+
+	/**
+	 * One motor's output. set() only stores the value; nothing reaches the
+	 * motor until OutputStage commits it on the control thread, corrected
+	 * for the battery voltage. Remembers the last one asked for, so it can
+	 * be logged.
+	 *
+	 * Each output has exactly one owner at a time. The robot loop owns it
+	 * until it hands it over to a controller with handOver(), and gets it
+	 * back with takeBack(). Only the owner's value is ever sent, so a
+	 * controller that is a tick late seeing a cancel can't overwrite what
+	 * the robot loop set after it.
+	 */
+	public static class Output implements Motor {
+		//Smallest Change Worth Sending, About One PWM Step
+		static final double EPSILON = 0.001;
+		//An Unchanged Output Is Sent Again This Often (Seconds) So Motor Safety Never Times Out
+		static final double KEEPALIVE_PERIOD = 0.05;
+
+		private final Motor motor;
+		private final VoltageCompensation compensation;
+		//Robot Loop's Value, the Controller's Value, and Which Controller Owns It (Null for the Robot Loop)
+		private volatile double value = 0.0;
+		private volatile double controlValue = 0.0;
+		private volatile Object owner = null;
+
+		//Control Thread Only: What the Motor Was Last Sent, and When
+		private double written = Double.NaN;
+		private double writeTime;
+
+		public Output(Motor motor, VoltageCompensation compensation) {
+			this.motor = motor;
+			this.compensation = compensation;
+		}
+
+		//Robot Loop: Fraction of VoltageCompensation.NOMINAL_VOLTAGE, Sent on the Next Commit
+		@Override
+		public void set(double speed) {
+			value = speed;
+		}
+
+		//Control Thread: Same as set(), Only Sent While controller Owns the Output
+		public void setFromControl(double speed) {
+			controlValue = speed;
+		}
+
+		/**
+		 * Robot loop: gives the output to controller. The robot loop's own
+		 * value goes to 0, so it is stopped when it comes back.
+		 */
+		public void handOver(Object controller) {
+			value = 0.0;
+			owner = controller;
+		}
+
+		/**
+		 * Robot loop: takes the output back from controller and stops it.
+		 * Does nothing if something else owns it now.
+		 */
+		public void takeBack(Object controller) {
+			if (owner == controller) {
+				value = 0.0;
+				owner = null;
+			}
+		}
+
+		//Robot Loop: True While a Controller Owns the Output
+		public boolean isHandedOver() {
+			return owner != null;
+		}
+
+		//The Value That Gets Sent, From Whoever Owns the Output
+		public double get() {
+			return owner != null ? controlValue : value;
+		}
+
+		/**
+		 * Control thread: sends the output to the motor if it moved more
+		 * than EPSILON since the last write. Stopping is always sent exactly.
+		 *
+		 * @return true if the motor was written
+		 */
+		boolean commit(double time) {
+			double output = compensation.compensate(get());
+			if (Math.abs(output - written) < EPSILON && (output != 0.0 || written == 0.0)) {
+				return false;
+			}
+			motor.set(output);
+			written = output;
+			writeTime = time;
+			return true;
+		}
+
+		/**
+		 * Control thread: sends the last output again if nothing has been
+		 * sent for KEEPALIVE_PERIOD.
+		 *
+		 * @return true if the motor was written
+		 */
+		boolean keepAlive(double time) {
+			if (Double.isNaN(written) || time - writeTime < KEEPALIVE_PERIOD) {
+				return false;
+			}
+			motor.set(written);
+			writeTime = time;
+			return true;
+		}
+	}
+
+	public interface Encoder {
+		int get();
+
+		//Counts Per Second
+		double getRate();
+
+		void reset();
+	}
+
+	/**
+	 * A digital input. Our reed switches read false when the magnet is there.
+	 */
+	public interface Switch {
+		boolean get();
+	}
+
+	public interface Stick {
+		double getY();
+
+		double getTwist();
+
+		boolean getRawButton(int button);
+
+		boolean getTrigger();
+
+		//Every Button at Once, Button 1 in Bit 0
+		int getButtons();
+	}
+
+	public interface Gyro {
+		//Degrees, Clockwise Positive Like the WPILib Gyros
+		double getAngle();
+	}
+
+	public interface Battery {
+		double getVoltage();
+	}
+
+	public interface Clock {
+		//Seconds, Same Time Base as the FPGA Timestamp on the Robot
+		double getTime();
+	}
+
+	public interface Vision {
+		//ledMode Values
+		int LED_ON = 0;
+		int LED_OFF = 1;
+		int LED_BLINK = 2;
+
+		//camMode Values
+		int CAM_VISION = 0;
+		int CAM_DRIVER = 1;
+
+		/**
+		 * Copies the latest target into target without blocking.
+		 */
+		void read(VisionTarget target);
+
+		void setCamMode(int mode);
+
+		void setLedMode(int mode);
+	}
+
+	/**
+	 * Something on the I2C bus, like the Rioduino.
+	 */
+	public interface I2CDevice {
+		/**
+		 * Sends request and reads back response.length bytes.
+		 *
+		 * @return true if the transfer was aborted, like WPILib's I2C
+		 */
+		boolean transaction(byte[] request, byte[] response);
+	}
+
+	public interface Ultrasonics {
+		/**
+		 * Copies the latest readings into readings without blocking.
+		 */
+		void read(UltrasonicReadings readings);
+	}
+
+	//Drive
+	public Motor driveLeft;
+	public Motor driveRight;
+	public Encoder driveEncoderLeft;
+	public Encoder driveEncoderRight;
+	//Null When the Robot Has No Gyro
+	public Gyro gyro;
+
+	//Collector
+	public Motor collectorLeft;
+	public Motor collectorRight;
+
+	//Lift
+	public Motor liftMotors;
+	public Encoder liftEncoder;
+	public Switch reedSwitchTop;
+	public Switch reedSwitchBot;
+
+	//Climb & Hook
+	public Motor climbMotors;
+	public Motor hookMotor;
+
+	//Driver Controls
+	public Stick joystickLeft;
+	public Stick joystickRight;
+
+	//Ultrasonic Sensors, Read by the Rioduino
+	public Ultrasonics ultrasonics;
+
+	//Limelight, Battery, Time and Dashboard
+	public Vision limelight;
+	public Battery battery;
+	public Clock clock;
+	public Telemetry.Publisher dashboard;
+}
@@ -0,0 +1,729 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Everything the robot does in each mode. Robot calls into this from the
+ * IterativeRobot callbacks, and the simulator calls into it directly.
+ *
+ * This class only talks to hardware through RobotIO, so it must not import
+ * anything from WPILib.
+ */
+public class RobotLogic {
+	//Auto
+	private final AutoRoutines autoRoutines;
+	private final RobotIO.Clock clock;
+	private double autoStartTime;
+	private char switch1;
+	private AutoRoutine autoRoutine;
+	private int autoIndex = -1;
+	private final byte[] gameData = new byte[MatchLogger.GAME_DATA_LENGTH];
+
+	//Clock Is Read Once Per Loop So a Replay Sees the Same Times
+	private double loopTime;
+
+	//Battery Voltage Correction for Every Motor
+	private final VoltageCompensation voltage;
+
+	//Control Thread, and What It Had Finished at the Top of This Loop
+	private final ControlLoop controlLoop;
+	private final OutputStage outputStage;
+	private int loopControl;
+
+	//Dashboard Values
+	private final Telemetry telemetry;
+	private final AllocationCounter allocations;
+	private final Telemetry.NumberValue liftCount, liftRate;
+	private final Telemetry.NumberValue leftDriveCount, leftDriveRate;
+	private final Telemetry.NumberValue rightDriveCount, rightDriveRate;
+	private final Telemetry.NumberValue driveSpeedValue;
+	private final Telemetry.BooleanValue reedTopValue, reedBotValue;
+	private final Telemetry.NumberValue autoTimer;
+	private final Telemetry.NumberValue loopAllocated, loopAllocatedMax;
+	private final Telemetry.NumberValue controlOverruns, batteryVoltage, motorWrites;
+	private final Telemetry.NumberValue poseX, poseY, poseHeading;
+	private final Telemetry.NumberValue frontLeftUltrasonic, frontRightUltrasonic, leftUltrasonic, rightUltrasonic;
+	private final Telemetry.NumberValue rioduinoFailures;
+	private final Telemetry.BooleanValue rioduinoOk;
+
+	//Loop Timing Sections
+	static final int SENSORS = 1;
+	static final int LIMELIGHT = 2;
+	static final int AUTO_STEPS = 3;
+	static final int DRIVE = 4;
+	static final int LIFT = 5;
+	static final int MECHANISMS = 6;
+	static final int TELEMETRY = 7;
+	private final LoopProfiler profiler;
+
+	//Match Log, Null When Not Logging
+	private MatchLogger logger;
+	private final MatchLogger.Record logRecord = new MatchLogger.Record();
+	//What Gets Logged Each Loop, in the Record's Order
+	private final RobotIO.Output[] logOutputs;
+	private final SetpointHandoff[] logCommands;
+	private int loopMode = MatchLogger.DISABLED;
+
+	//Every Sensor the Loop Uses, Read Once at the Top of the Loop
+	final SensorSnapshot sensors = new SensorSnapshot();
+
+	//Limelight Variables
+	final RobotIO.Vision limelight;
+	final RobotIO.Ultrasonics ultrasonics;
+	final VisionTarget target = sensors.vision;
+	public final VisionAligner visionAligner;
+	public final WallApproach wallApproach;
+	private int teleopLedMode = RobotIO.Vision.LED_OFF;
+	double x;
+	double y;
+	double area;
+
+	//Drive Motors & Encoder
+	public final RobotIO.Output driveLeft;
+	public final RobotIO.Output driveRight;
+	public final RobotIO.Encoder driveEncoderLeft;
+	public final RobotIO.Encoder driveEncoderRight;
+	public final DriveController driveController;
+	public final RobotIO.Gyro gyro;
+	public final Odometry odometry;
+	public final PathFollower pathFollower;
+	public final DriveHistory driveHistory = new DriveHistory();
+	private final DriveHistory.Sample historyNow = new DriveHistory.Sample();
+	private final DriveHistory.Sample historyThen = new DriveHistory.Sample();
+	//Replay Only: Answers turnedSince() From the Log, There's No Control Thread to Fill the DriveHistory
+	private TurnSource replayTurns;
+	private final Pose pose = new Pose();
+
+	//Collector Motors
+	public final RobotIO.Output collectorLeft;
+	public final RobotIO.Output collectorRight;
+
+	//Lift Motors & Encoder
+	public final RobotIO.Output liftMotors;
+	public final RobotIO.Encoder liftEncoder;
+	public final LiftController liftController;
+	final int footCount;
+	final int switchLiftCount;
+	final int scaleLiftCount;
+
+	//Climb Motors
+	public final RobotIO.Output climbMotors;
+	public final RobotIO.Output hookMotor;
+
+	//Reed Switches
+	final RobotIO.Switch reedSwitchTop;
+	final RobotIO.Switch reedSwitchBot;
+
+	//Joysticks & Joystick Values
+	public final RobotIO.Stick joystickLeft;
+	public final RobotIO.Stick joystickRight;
+    public double joystickLeftValue = 0.0;
+    public double joystickRightValue = 0.0;
+    public double joystickRightTwist = 0.0;
+
+    //Buttons Read Once Per Loop, and the Teleop Controls Bound to Them
+    final ButtonEvents leftButtons;
+    final ButtonEvents rightButtons;
+    final CommandScheduler scheduler;
+
+    //Stick Shaping: Deadband, Expo (0 to 1), and How Fast Outputs Can Grow and Shrink Per Second
+    static final double STICK_DEADBAND = 0.05;
+    static final double TWIST_DEADBAND = 0.1;
+    static final double STICK_EXPO = 0.3;
+    static final double STICK_RISE_RATE = 3.0;
+    static final double STICK_FALL_RATE = 6.0;
+    static final double TWIST_SCALE = 0.7;
+    final InputShaper leftShaper = new InputShaper(STICK_DEADBAND, STICK_EXPO, STICK_RISE_RATE, STICK_FALL_RATE);
+    final InputShaper rightShaper = new InputShaper(STICK_DEADBAND, STICK_EXPO, STICK_RISE_RATE, STICK_FALL_RATE);
+    final InputShaper twistShaper = new InputShaper(TWIST_DEADBAND, STICK_EXPO, STICK_RISE_RATE, STICK_FALL_RATE);
+    private double lastTeleopTime = Double.NaN;
+
+    //Speed Values
+    static final double FULL_DRIVE_SPEED = 0.75;
+    static final double SLOW_DRIVE_SPEED = 0.45;
+    public double driveSpeed = FULL_DRIVE_SPEED;
+    final double collectSpeed = -1.0;
+    final double liftSpeed = 1.0;
+    final double climbSpeed = 1.0;
+    final double autoSpeedRight;
+    final double autoSpeedLeft;
+
+	/**
+	 * Sets up everything the robot needs with the default auto tuning.
+	 * Runs once from robotInit().
+	 */
+	public RobotLogic(RobotIO io) {
+		this(io, new AutoTuning());
+	}
+
+	public RobotLogic(RobotIO io, AutoTuning tuning) {
+		this(io, tuning, TrajectoryCache.empty());
+	}
+
+	/**
+	 * @param paths where the autos get their paths, see TrajectoryCache
+	 */
+	public RobotLogic(RobotIO io, AutoTuning tuning, TrajectoryCache paths) {
+		footCount = tuning.footCount;
+		switchLiftCount = tuning.switchLiftCount;
+		scaleLiftCount = tuning.scaleLiftCount;
+		autoSpeedRight = tuning.autoSpeedRight;
+		autoSpeedLeft = autoSpeedRight * tuning.leftSpeedFactor;
+
+		//Motors Are Corrected for the Battery and Remember Their Last Output for the Match Log
+		voltage = new VoltageCompensation(io.battery);
+		driveLeft = new RobotIO.Output(io.driveLeft, voltage);
+		driveRight = new RobotIO.Output(io.driveRight, voltage);
+		driveEncoderLeft = io.driveEncoderLeft;
+		driveEncoderRight = io.driveEncoderRight;
+		gyro = io.gyro;
+		collectorLeft = new RobotIO.Output(io.collectorLeft, voltage);
+		collectorRight = new RobotIO.Output(io.collectorRight, voltage);
+		liftMotors = new RobotIO.Output(io.liftMotors, voltage);
+		liftEncoder = io.liftEncoder;
+		climbMotors = new RobotIO.Output(io.climbMotors, voltage);
+		hookMotor = new RobotIO.Output(io.hookMotor, voltage);
+		reedSwitchTop = io.reedSwitchTop;
+		reedSwitchBot = io.reedSwitchBot;
+		joystickLeft = io.joystickLeft;
+		joystickRight = io.joystickRight;
+		leftButtons = new ButtonEvents();
+		rightButtons = new ButtonEvents();
+		limelight = io.limelight;
+		ultrasonics = io.ultrasonics;
+		clock = io.clock;
+
+		//Dashboard Values Are Looked Up Once Here and Sent Once Per Loop
+		telemetry = new Telemetry(io.dashboard);
+		liftCount = telemetry.addNumber("Lift Count");
+		liftRate = telemetry.addNumber("Lift Rate");
+		leftDriveCount = telemetry.addNumber("Left Drive Count");
+		leftDriveRate = telemetry.addNumber("Left Drive Rate");
+		rightDriveCount = telemetry.addNumber("Right Drive Count");
+		rightDriveRate = telemetry.addNumber("Right Drive Rate");
+		driveSpeedValue = telemetry.addNumber("Drive Speed");
+		reedTopValue = telemetry.addBoolean("Reed Switch Top");
+		reedBotValue = telemetry.addBoolean("Reed Switch Bot");
+		autoTimer = telemetry.addNumber("Auto Timer");
+		loopAllocated = telemetry.addNumber("Loop Allocated (bytes)");
+		loopAllocatedMax = telemetry.addNumber("Loop Allocated Max (bytes)");
+		controlOverruns = telemetry.addNumber("Control Loop Overruns");
+		batteryVoltage = telemetry.addNumber("Battery Voltage");
+		motorWrites = telemetry.addNumber("Motor Writes");
+		poseX = telemetry.addNumber("Pose X (ft)");
+		poseY = telemetry.addNumber("Pose Y (ft)");
+		poseHeading = telemetry.addNumber("Pose Heading (deg)");
+		frontLeftUltrasonic = telemetry.addNumber("Front Left Ultrasonic (cm)");
+		frontRightUltrasonic = telemetry.addNumber("Front Right Ultrasonic (cm)");
+		leftUltrasonic = telemetry.addNumber("Left Ultrasonic (cm)");
+		rightUltrasonic = telemetry.addNumber("Right Ultrasonic (cm)");
+		rioduinoOk = telemetry.addBoolean("Rioduino OK");
+		rioduinoFailures = telemetry.addNumber("Rioduino Failures");
+		allocations = new AllocationCounter();
+		profiler = new LoopProfiler(telemetry,
+			"Sensors", "Limelight", "Auto Steps", "Drive", "Lift", "Mechanisms", "Telemetry");
+
+		odometry = new Odometry(this, tuning);
+		sensors.read(this);
+		updateSensorTelemetry();
+		telemetry.flush();
+
+		//Closed Loop Control, Run at 200 Hz by the Control Thread
+		driveController = new DriveController(this, tuning);
+		liftController = new LiftController(this, tuning);
+		visionAligner = new VisionAligner(this, tuning);
+		wallApproach = new WallApproach(this, tuning);
+		pathFollower = new PathFollower(this, tuning);
+		//Motors Are Committed Last, After the Controllers Have Set Theirs
+		outputStage = new OutputStage(driveLeft, driveRight, collectorLeft, collectorRight, liftMotors, climbMotors, hookMotor);
+		logOutputs = new RobotIO.Output[] {driveLeft, driveRight, collectorLeft, collectorRight, liftMotors, climbMotors, hookMotor};
+		//Same Order as MatchLogger.DRIVE_COMMAND, PATH_COMMAND and LIFT_COMMAND
+		logCommands = new SetpointHandoff[] {driveController.getSetpoint(), pathFollower.getSetpoint(), liftController.getSetpoint()};
+		controlLoop = new ControlLoop(clock, odometry::run, driveController::run, pathFollower::run, liftController::run,
+			outputStage::run);
+
+		//Teleop Buttons
+		scheduler = new CommandScheduler(leftButtons, rightButtons);
+		bindTeleopControls();
+
+		//Builds Every Auto Ahead of Time
+		autoRoutines = new AutoRoutines(this, tuning, paths);
+	}
+
+	/**
+	 * Starts writing a record every loop to logger (null to stop).
+	 */
+	public void setLogger(MatchLogger logger) {
+		this.logger = logger;
+	}
+
+	/**
+	 * Starts the 200 Hz control thread. The simulator calls
+	 * getControlLoop().runOnce() itself instead.
+	 */
+	public void startControlLoop() {
+		controlLoop.start();
+	}
+
+	public ControlLoop getControlLoop() {
+		return controlLoop;
+	}
+
+	public OutputStage getOutputStage() {
+		return outputStage;
+	}
+
+	public AutoRoutines getAutoRoutines() {
+		return autoRoutines;
+	}
+
+	/**
+	 * Gets the selected auto ready to run.
+	 *
+	 * @param routine the auto picked on the dashboard, or null for the default
+	 * @param gameData the game specific message from the driver station
+	 */
+	public void autonomousInit(AutoRoutine routine, String gameData) {
+		autoRoutine = routine != null ? routine : autoRoutines.getDefault();
+		autoIndex = autoRoutines.indexOf(autoRoutine);
+
+		//Determine Switch Side
+		switch1 = gameData != null && gameData.length() > 0 ? gameData.charAt(0) : ' ';
+		for (int i = 0; i < this.gameData.length; i++) {
+			this.gameData[i] = gameData != null && i < gameData.length() ? (byte) gameData.charAt(i) : 0;
+		}
+
+		//Get the Selected Auto Ready, Reset All Motors and Start Timer
+		autoRoutine.reset();
+		profiler.reset(LoopProfiler.AUTO);
+		reset();
+
+		//Field Positions Are Measured From Where Auto Starts
+		odometry.reset(0.0, 0.0, 0.0);
+		autoStartTime = clock.getTime();
+	}
+
+	/**
+	 * This function is called periodically during autonomous.
+	 */
+	public void autonomousPeriodic() {
+		profiler.begin(LoopProfiler.AUTO);
+		allocations.begin();
+		loopMode = MatchLogger.AUTO;
+		loopTime = clock.getTime();
+		latchControlStatus();
+		readSensors();
+		profiler.mark(SENSORS);
+
+		//LEDs Only On While Aligning
+		limelight.setCamMode(RobotIO.Vision.CAM_VISION);
+		limelight.setLedMode(visionAligner.isActive() ? RobotIO.Vision.LED_ON : RobotIO.Vision.LED_OFF);
+		profiler.mark(LIMELIGHT);
+
+		//Advance Selected Auto By One Tick
+		double time = getAutoTime();
+		autoRoutine.update(time);
+		autoTimer.set(time);
+		profiler.mark(AUTO_STEPS);
+
+		updateSensorTelemetry();
+		profiler.mark(SENSORS);
+	}
+
+	/**
+	 * This function is called when the robot begins operator control.
+	 */
+	public void teleopInit() {
+		profiler.reset(LoopProfiler.TELEOP);
+		reset();
+		leftShaper.reset();
+		rightShaper.reset();
+		twistShaper.reset();
+		lastTeleopTime = Double.NaN;
+		leftButtons.reset();
+		rightButtons.reset();
+	}
+
+	/**
+	 * This function is called periodically during operator control.
+	 */
+	public void teleopPeriodic() {
+		profiler.begin(LoopProfiler.TELEOP);
+		allocations.begin();
+		loopMode = MatchLogger.TELEOP;
+		loopTime = clock.getTime();
+		latchControlStatus();
+		readSensors();
+
+		//Shaped Drive Values: Deadband, Expo, driveSpeed and Slew Limits (Stick Forward Reads Negative)
+		double dt = Double.isNaN(lastTeleopTime) ? 0.0 : loopTime - lastTeleopTime;
+		lastTeleopTime = loopTime;
+		joystickLeftValue = leftShaper.shape(-sensors.stickLeftY, driveSpeed, dt);
+		joystickRightValue = rightShaper.shape(-sensors.stickRightY, driveSpeed, dt);
+		joystickRightTwist = twistShaper.shape(sensors.stickRightTwist, driveSpeed * TWIST_SCALE, dt);
+
+    	//Start and End Commands for the Buttons That Changed, See bindTeleopControls()
+    	scheduler.poll();
+    	driveSpeedValue.set(driveSpeed);
+    	profiler.mark(SENSORS);
+
+    	scheduler.run(CommandScheduler.COLLECTOR);
+    	profiler.mark(MECHANISMS);
+
+    	scheduler.run(CommandScheduler.LIFT);
+    	profiler.mark(LIFT);
+
+    	//Encoder Tests
+    	updateSensorTelemetry();
+    	profiler.mark(SENSORS);
+
+    	scheduler.run(CommandScheduler.CLIMB);
+    	profiler.mark(MECHANISMS);
+
+    	scheduler.run(CommandScheduler.DRIVE);
+    	profiler.mark(DRIVE);
+
+    	//Limelight LED's Are Always On While Aligning
+    	limelight.setLedMode(visionAligner.isActive() ? RobotIO.Vision.LED_ON : teleopLedMode);
+    	profiler.mark(LIMELIGHT);
+	}
+
+	/**
+	 * Hooks the teleop controls up to the buttons. Runs once from the
+	 * constructor.
+	 *
+	 * Left stick: trigger runs the collector out, 2 toggles slow mode, 3
+	 * climbs, 6/4 move the hook up/down, 5 drives at the vision target, 7
+	 * drives up to the wall on the right stick, 11 resets everything.
+	 * Right stick: trigger collects, 2 drives straight (or turns in place
+	 * with the twist), 5/6 move the lift by hand, 3/4/8 send it to the
+	 * floor/switch/scale, 7/9/11 set the Limelight LED's off/on/blinking.
+	 */
+	private void bindTeleopControls() {
+		CommandScheduler s = scheduler;
+
+		//Drive: Tank Drive Unless a Button Wants It
+		s.setDefault(CommandScheduler.DRIVE, () -> drive(joystickLeftValue, joystickRightValue));
+		s.whileHeld(rightButtons, 2, CommandScheduler.DRIVE, () -> {
+			if (joystickRightTwist != 0.0) {
+				drive(joystickRightTwist, -joystickRightTwist);
+			} else {
+				drive(joystickRightValue, joystickRightValue);
+			}
+		});
+		s.whileHeld(leftButtons, 5, CommandScheduler.DRIVE, new CommandScheduler.Command() {
+			@Override
+			public void start() {
+				visionAligner.start();
+			}
+
+			@Override
+			public void execute() {
+				visionAligner.update(sensors, loopTime);
+			}
+
+			@Override
+			public void end() {
+				if (visionAligner.isActive()) {
+					visionAligner.stop();
+				}
+			}
+		});
+
+		//Hold Left 7 to Drive at the Wall in Front on the Right Stick, Slowing Down Near It
+		s.whileHeld(leftButtons, 7, CommandScheduler.DRIVE, new CommandScheduler.Command() {
+			@Override
+			public void start() {
+				wallApproach.start(sensors, loopTime, Double.POSITIVE_INFINITY);
+			}
+
+			@Override
+			public void execute() {
+				wallApproach.assist(sensors, loopTime, joystickRightValue);
+			}
+
+			@Override
+			public void end() {
+				if (wallApproach.isActive()) {
+					wallApproach.stop();
+				}
+			}
+		});
+
+		//Slow Mode, Once Per Press
+		s.whenPressed(leftButtons, 2, CommandScheduler.NONE,
+			() -> driveSpeed = driveSpeed == SLOW_DRIVE_SPEED ? FULL_DRIVE_SPEED : SLOW_DRIVE_SPEED);
+
+		//Collector: Holds the Cube In Unless a Trigger Is Down (Left and Right Are Inverted)
+		s.setDefault(CommandScheduler.COLLECTOR, () -> {
+			collectorLeft.set(collectSpeed * 0.375);
+			collectorRight.set(-collectSpeed * 0.25);
+		});
+		s.whileHeld(rightButtons, 1, CommandScheduler.COLLECTOR, () -> collectorMotors(collectSpeed));
+		s.whileHeld(leftButtons, 1, CommandScheduler.COLLECTOR, () -> collectorMotors(-collectSpeed));
+
+		//Lift, Run by the LiftController on the Control Thread. A Preset Keeps Going After Its Button Is Let Go
+		s.setDefault(CommandScheduler.LIFT, liftController::hold);
+		s.whileHeld(rightButtons, 5, CommandScheduler.LIFT, () -> liftController.manual(liftSpeed));
+		s.whileHeld(rightButtons, 6, CommandScheduler.LIFT, () -> liftController.manual(-liftSpeed * 0.8));
+		s.whenPressed(rightButtons, 3, CommandScheduler.LIFT, () -> liftController.moveTo(0));
+		s.whenPressed(rightButtons, 4, CommandScheduler.LIFT, () -> liftController.moveTo(switchLiftCount));
+		s.whenPressed(rightButtons, 8, CommandScheduler.LIFT, () -> liftController.moveTo(scaleLiftCount));
+
+		//Climb: Hook and Climber Share It So Only One Runs at a Time
+		s.setDefault(CommandScheduler.CLIMB, () -> climb(0.0, 0.0));
+		s.whileHeld(leftButtons, 6, CommandScheduler.CLIMB, () -> climb(0.0, climbSpeed));
+		s.whileHeld(leftButtons, 4, CommandScheduler.CLIMB, () -> climb(0.0, -climbSpeed));
+		s.whileHeld(leftButtons, 3, CommandScheduler.CLIMB, () -> climb(climbSpeed, 0.0));
+
+		//Limelight LED's
+		s.whenPressed(rightButtons, 7, CommandScheduler.NONE, () -> teleopLedMode = RobotIO.Vision.LED_OFF);
+		s.whenPressed(rightButtons, 9, CommandScheduler.NONE, () -> teleopLedMode = RobotIO.Vision.LED_ON);
+		s.whenPressed(rightButtons, 11, CommandScheduler.NONE, () -> teleopLedMode = RobotIO.Vision.LED_BLINK);
+
+		s.whenPressed(leftButtons, 11, CommandScheduler.NONE, this::reset);
+	}
+
+	/**
+	 * This function is called at the end of every loop, in every mode. It
+	 * sends all the dashboard values that changed this loop in one batch.
+	 */
+	public void robotPeriodic() {
+		if (loopMode == MatchLogger.DISABLED) {
+			loopTime = clock.getTime();
+			readSensors();
+		}
+		voltage.update(loopTime);
+		batteryVoltage.set(voltage.getVoltage());
+
+		long allocated = allocations.end();
+		if (allocated >= 0) {
+			loopAllocated.set(allocated);
+			loopAllocatedMax.set(allocations.getMax());
+		}
+
+		controlOverruns.set(controlLoop.getOverruns());
+		motorWrites.set(outputStage.getWrites());
+		telemetry.flush();
+		profiler.mark(TELEMETRY);
+
+		if (logger != null) {
+			writeLog();
+		}
+		loopMode = MatchLogger.DISABLED;
+		loopControl = 0;
+		profiler.end();
+	}
+
+	//Every Sensor, Read Once Per Loop Before Anything Uses Them
+	private void readSensors() {
+		sensors.read(this);
+		leftButtons.update(sensors.buttonsLeft);
+		rightButtons.update(sensors.buttonsRight);
+		x = target.x;
+		y = target.y;
+		area = target.area;
+	}
+
+	//Whether the Control Thread Finished Its Moves, Read Once Per Loop
+	private void latchControlStatus() {
+		driveController.latch();
+		pathFollower.latch();
+		liftController.latch();
+
+		//Logged as Latched, a Step Finishing This Loop Clears Them Before the Log Is Written
+		loopControl = (driveController.isFinished() ? MatchLogger.DRIVE_DONE : 0)
+			| (liftController.isFinished() ? MatchLogger.LIFT_DONE : 0)
+			| (pathFollower.isFinished() ? MatchLogger.PATH_DONE : 0);
+	}
+
+	//Fills the Reused Record and Writes It, Nothing Allocated
+	private void writeLog() {
+		MatchLogger.Record r = logRecord;
+		r.time = loopTime;
+		r.mode = loopMode;
+		r.autoIndex = autoIndex;
+		r.autoStartTime = autoStartTime;
+		r.control = loopControl;
+		System.arraycopy(gameData, 0, r.gameData, 0, gameData.length);
+		SensorSnapshot s = sensors;
+		r.buttonsLeft = s.buttonsLeft;
+		r.buttonsRight = s.buttonsRight;
+		r.stickLeftY = (float) s.stickLeftY;
+		r.stickRightY = (float) s.stickRightY;
+		r.stickRightTwist = (float) s.stickRightTwist;
+		r.liftCount = s.liftCount;
+		r.liftRate = (float) s.liftRate;
+		r.leftDriveCount = s.leftDriveCount;
+		r.rightDriveCount = s.rightDriveCount;
+		r.leftDriveRate = s.leftDriveRate;
+		r.rightDriveRate = s.rightDriveRate;
+		r.batteryVoltage = (float) voltage.getVoltage();
+		r.reeds = (s.reedTop ? MatchLogger.REED_TOP : 0)
+			| (s.reedBot ? MatchLogger.REED_BOT : 0);
+		r.vision.valid = target.valid;
+		r.vision.x = target.x;
+		r.vision.y = target.y;
+		r.vision.area = target.area;
+		r.vision.latency = target.latency;
+		r.vision.timestamp = target.timestamp;
+		r.ultrasonics.frontLeft = s.ultrasonics.frontLeft;
+		r.ultrasonics.frontRight = s.ultrasonics.frontRight;
+		r.ultrasonics.left = s.ultrasonics.left;
+		r.ultrasonics.right = s.ultrasonics.right;
+		r.ultrasonics.timestamp = s.ultrasonics.timestamp;
+		r.ultrasonics.failures = s.ultrasonics.failures;
+		r.ultrasonics.failuresInARow = s.ultrasonics.failuresInARow;
+		r.visionTurned = s.visionTurned;
+		r.handedOver = 0;
+		for (int i = 0; i < logOutputs.length; i++) {
+			r.outputs[i] = (float) logOutputs[i].get();
+			if (logOutputs[i].isHandedOver()) {
+				r.handedOver |= 1 << i;
+			}
+		}
+		r.commandsActive = 0;
+		for (int i = 0; i < logCommands.length; i++) {
+			SetpointHandoff command = logCommands[i];
+			r.commandCounts[i] = command.getCount();
+			if (command.hasCommand()) {
+				r.commandsActive |= 1 << i;
+			}
+			for (int j = 0; j < SetpointHandoff.VALUES; j++) {
+				r.commandValues[i * SetpointHandoff.VALUES + j] = (float) command.getSent(j);
+			}
+		}
+		logger.write(r);
+	}
+
+	public LoopProfiler getProfiler() {
+		return profiler;
+	}
+
+	//Encoder and Reed Switch Values for the Dashboard, From This Loop's Snapshot
+	private void updateSensorTelemetry() {
+		SensorSnapshot s = sensors;
+		liftCount.set(s.liftCount);
+		liftRate.set(s.liftRate);
+		leftDriveCount.set(-s.leftDriveCount);
+		leftDriveRate.set(-s.leftDriveRate);
+		rightDriveCount.set(s.rightDriveCount);
+		rightDriveRate.set(s.rightDriveRate);
+		reedTopValue.set(s.reedTop);
+		reedBotValue.set(s.reedBot);
+		frontLeftUltrasonic.set(s.ultrasonics.frontLeft);
+		frontRightUltrasonic.set(s.ultrasonics.frontRight);
+		leftUltrasonic.set(s.ultrasonics.left);
+		rightUltrasonic.set(s.ultrasonics.right);
+		rioduinoOk.set(s.ultrasonics.isFresh(loopTime, UltrasonicReadings.MAX_AGE));
+		rioduinoFailures.set(s.ultrasonics.failures);
+		odometry.read(pose);
+		poseX.set(pose.x);
+		poseY.set(pose.y);
+		poseHeading.set(Math.toDegrees(pose.heading));
+	}
+
+	interface TurnSource {
+		double turnedSince(double time);
+	}
+
+	//Radians Turned Counter-Clockwise Since time, 0 If the DriveHistory Doesn't Go Back That Far
+	double turnedSince(double time) {
+		if (replayTurns != null) {
+			return replayTurns.turnedSince(time);
+		}
+		if (driveHistory.latest(historyNow) && driveHistory.sample(time, historyThen)) {
+			return historyNow.heading - historyThen.heading;
+		}
+		return 0.0;
+	}
+
+	void replayTurns(TurnSource source) {
+		replayTurns = source;
+	}
+
+	//Clock Time at the Start of This Loop
+	public double getLoopTime() {
+		return loopTime;
+	}
+
+	//Seconds Since Autonomous Started, as of the Start of This Loop
+	public double getAutoTime() {
+		return loopTime - autoStartTime;
+	}
+
+	//Which Side of the Switch Is Ours ('L' or 'R')
+	public char getSwitchSide() {
+		return switch1;
+	}
+
+	//The Auto That Is Running, or Last Ran
+	public AutoRoutine getAutoRoutine() {
+		return autoRoutine;
+	}
+
+	//Tank Drive
+	public void tankDrive(double leftSpeed, double rightSpeed) {
+		driveLeft.set(-leftSpeed * driveSpeed);
+		driveRight.set(rightSpeed * driveSpeed);
+	}
+
+	//Raw Drive Outputs, Forward Is Positive on Both Sides and driveSpeed Is Not Applied
+	public void drive(double left, double right) {
+		driveLeft.set(left);
+		driveRight.set(-right);
+	}
+
+	//Control Thread: Same as drive(), for a Controller the Drive Motors Were Handed Over To
+	void controlDrive(double left, double right) {
+		driveLeft.setFromControl(left);
+		driveRight.setFromControl(-right);
+	}
+
+	//Robot Loop: Gives the Drive Motors to a Controller, or Takes Them Back and Stops Them
+	void handOverDrive(Object controller) {
+		driveLeft.handOver(controller);
+		driveRight.handOver(controller);
+	}
+
+	void takeBackDrive(Object controller) {
+		driveLeft.takeBack(controller);
+		driveRight.takeBack(controller);
+	}
+
+	//Collector Motors
+	public void collectorMotors(double speed) {
+		collectorLeft.set(speed);
+		collectorRight.set(-speed * 0.7);
+	}
+
+	//Climber and Hook, Up Is Positive
+	public void climb(double climb, double hook) {
+		climbMotors.set(climb);
+		hookMotor.set(hook);
+	}
+
+	//Resets Motors, Ends Teleop Commands and Takes the Motors Back From the Control Thread
+	public void reset() {
+		scheduler.cancelAll();
+		if (visionAligner.isActive()) {
+			visionAligner.stop();
+		}
+		if (wallApproach.isActive()) {
+			wallApproach.stop();
+		}
+		driveController.cancel();
+		pathFollower.cancel();
+		liftController.cancel();
+		tankDrive(0.0, 0.0);
+		collectorMotors(0.0);
+		liftMotors.set(0.0);
+		climbMotors.set(0.0);
+		hookMotor.set(0.0);
+	}
+}
@@ -0,0 +1,75 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Every sensor the robot loop uses, read once at the top of the loop.
+ *
+ * Each sensor read goes through the HAL, so it costs time, and a value
+ * read twice in one loop can change in between. read() reads each one
+ * exactly once, and everything in the robot loop (teleop, auto steps,
+ * dashboard, match log) uses these values instead of the sensors.
+ * RobotLogic keeps one and fills it in place, so nothing is allocated.
+ *
+ * The control thread still reads its own sensors, since it runs 4 times
+ * for every robot loop and needs fresh values. The one thing the robot
+ * loop needs from the control thread, how far the robot has turned since
+ * the Limelight frame was captured, is looked up once here too, so it
+ * gets logged and replayed like a sensor.
+ */
+public class SensorSnapshot {
+	//Lift Encoder (Counts, Counts/s)
+	public int liftCount;
+	public double liftRate;
+
+	//Raw Drive Encoders, the Left One Counts Down Going Forward (Counts, Counts/s)
+	public int leftDriveCount;
+	public int rightDriveCount;
+	public double leftDriveRate;
+	public double rightDriveRate;
+
+	//Raw Reed Switches, True Means No Magnet
+	public boolean reedTop;
+	public boolean reedBot;
+
+	//Joysticks, Stick Forward Reads Negative, Button 1 in Bit 0
+	public double stickLeftY;
+	public double stickRightY;
+	public double stickRightTwist;
+	public int buttonsLeft;
+	public int buttonsRight;
+
+	//Limelight and the Rioduino Ultrasonics
+	public final VisionTarget vision = new VisionTarget();
+	public final UltrasonicReadings ultrasonics = new UltrasonicReadings();
+	//Radians Turned Counter-Clockwise Since the Limelight Frame Was Captured, 0 With No Target
+	public double visionTurned;
+
+	/**
+	 * Reads every sensor once.
+	 */
+	public void read(RobotLogic robot) {
+		liftCount = robot.liftEncoder.get();
+		liftRate = robot.liftEncoder.getRate();
+		leftDriveCount = robot.driveEncoderLeft.get();
+		rightDriveCount = robot.driveEncoderRight.get();
+		leftDriveRate = robot.driveEncoderLeft.getRate();
+		rightDriveRate = robot.driveEncoderRight.getRate();
+		reedTop = robot.reedSwitchTop.get();
+		reedBot = robot.reedSwitchBot.get();
+		//Rounded to Floats Like the Match Log, Still Far Finer Than the Driver Station Sends, So Replay Sees the Same Sticks
+		stickLeftY = (float) robot.joystickLeft.getY();
+		stickRightY = (float) robot.joystickRight.getY();
+		stickRightTwist = (float) robot.joystickRight.getTwist();
+		buttonsLeft = robot.joystickLeft.getButtons();
+		buttonsRight = robot.joystickRight.getButtons();
+		robot.limelight.read(vision);
+		visionTurned = vision.valid ? robot.turnedSince(vision.captureTime()) : 0.0;
+		robot.ultrasonics.read(ultrasonics);
+	}
+}
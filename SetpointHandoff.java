@@ -0,0 +1,156 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Passes commands from the robot loop to the control thread, and word that
+ * a command finished back the other way, without locks or allocation.
+ *
+ * Exactly one thread (the robot loop) calls set(), clear(), latch() and
+ * isFinished(), and exactly one thread (the control thread) calls poll(),
+ * get() and done(). A command is an id and up to three numbers, copied the
+ * same way as the Limelight values: the writer bumps a sequence number
+ * before and after, and the reader tries again if it changed partway.
+ */
+public class SetpointHandoff {
+	public static final int VALUES = 3;
+
+	//Written by the Robot Loop
+	private volatile int sequence = 0;
+	private volatile int id = 0;
+	private volatile boolean active = false;
+	private volatile double value0, value1, value2;
+
+	//Written by the Control Thread
+	private volatile int doneId = 0;
+
+	//Robot Loop Copies
+	private int lastId = 0;
+	private boolean lastActive = false;
+	private boolean finished = false;
+
+	//Control Thread Copies
+	private int seenId = 0;
+	private boolean seenActive = false;
+	private final double[] values = new double[VALUES];
+
+	/**
+	 * Robot loop: sends a new command.
+	 */
+	public void set(double a, double b, double c) {
+		sequence++;
+		id = ++lastId;
+		active = lastActive = true;
+		value0 = a;
+		value1 = b;
+		value2 = c;
+		sequence++;
+		finished = false;
+	}
+
+	/**
+	 * Robot loop: tells the control thread to stop and let go of its motors.
+	 */
+	public void clear() {
+		if (!lastActive) {
+			return;
+		}
+		sequence++;
+		id = ++lastId;
+		active = lastActive = false;
+		sequence++;
+		finished = false;
+	}
+
+	/**
+	 * Robot loop: reads whether the last command is done. Called once at the
+	 * top of each loop so every check during that loop sees the same answer.
+	 */
+	public void latch() {
+		finished = lastActive && doneId == lastId;
+	}
+
+	/**
+	 * Robot loop: true if the last command had finished at latch() time.
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Robot loop: true if a command was sent and not cleared since, finished
+	 * or not.
+	 */
+	public boolean hasCommand() {
+		return lastActive;
+	}
+
+	/**
+	 * Robot loop: true if the control thread is still working on a command.
+	 */
+	public boolean isBusy() {
+		return lastActive && !finished;
+	}
+
+	//Robot Loop: Commands and Clears Sent So Far, for the Match Log
+	public int getCount() {
+		return lastId;
+	}
+
+	//Robot Loop: Numbers From the Last Command Sent
+	public double getSent(int index) {
+		return index == 0 ? value0 : index == 1 ? value1 : value2;
+	}
+
+	/**
+	 * Replay only: there is no control thread, so the log says when the
+	 * last command finished.
+	 */
+	void markDone() {
+		doneId = lastId;
+	}
+
+	/**
+	 * Control thread: picks up a new command.
+	 *
+	 * @return true if there was a new command (or a clear) since last time
+	 */
+	public boolean poll() {
+		if (id == seenId) {
+			return false;
+		}
+
+		int before;
+		do {
+			before = sequence;
+			seenId = id;
+			seenActive = active;
+			values[0] = value0;
+			values[1] = value1;
+			values[2] = value2;
+		} while ((before & 1) != 0 || before != sequence);
+		return true;
+	}
+
+	//Control Thread: Whether the Last Polled Command Is a Move or a Clear
+	public boolean isActive() {
+		return seenActive;
+	}
+
+	//Control Thread: Numbers From the Last Polled Command
+	public double get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Control thread: reports the last polled command finished.
+	 */
+	public void done() {
+		doneId = seenId;
+	}
+}
@@ -0,0 +1,519 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pure Java stand-in for the robot, so RobotLogic can run on a laptop.
+ *
+ * Motor outputs drive a simple physics model: each drive side and the lift
+ * speed up toward (output * top speed) with a short lag, the encoders count
+ * from that, and the reed switches trip at the ends of the lift travel.
+ * Time only moves when step() is called, so the code runs as fast as the
+ * computer allows.
+ */
+public class SimHardware {
+	//Drive Model, Top Speeds Are at 12 V
+	static final double COUNTS_PER_FOOT = 80.0;
+	static final double DRIVE_TOP_SPEED = 12.0;
+	static final double DRIVE_LAG = 0.1;
+	//Wheel Base That Makes 2.5 ft of Wheel Travel a 90 Degree Turn in Place
+	static final double TRACK_WIDTH = 3.2;
+
+	//Lift Model
+	static final double LIFT_TOP_SPEED = 9000.0;
+	static final double LIFT_LAG = 0.05;
+	static final double LIFT_TRAVEL = 25000.0;
+	static final double REED_RANGE = 150.0;
+
+	//Battery Model: Internal Resistance (Ohms) and Amps Drawn Per Motor Output at Full Output
+	static final double BATTERY_RESISTANCE = 0.02;
+	static final double AMPS_AT_FULL = 40.0;
+
+	//Limelight Model: Half the Horizontal View (Degrees), Area (%) at 1 ft, Picture Age (Seconds)
+	static final double VISION_HALF_FOV = 27.0;
+	static final double VISION_AREA_AT_FOOT = 90.0;
+	static final double VISION_LATENCY = 0.05;
+	//Poses Kept for the Picture Age, Plenty at 5 ms Steps
+	static final int POSE_HISTORY = 64;
+
+	//Ultrasonic Model: Front Sensors Are ULTRASONIC_FRONT Ahead of the Middle and ULTRASONIC_SPREAD
+	//Apart, Side Sensors Are ULTRASONIC_SIDE Out (Feet). Walls Further Than the Range (cm) or at More
+	//Than the Beam Angle (Degrees) Give No Echo
+	static final double ULTRASONIC_FRONT = 1.5;
+	static final double ULTRASONIC_SPREAD = 2.0;
+	static final double ULTRASONIC_SIDE = 1.2;
+	static final double ULTRASONIC_RANGE = 400.0;
+	static final double ULTRASONIC_BEAM_ANGLE = 30.0;
+
+	//Motor Outputs, Set by RobotLogic
+	public final SimMotor driveLeft = new SimMotor();
+	public final SimMotor driveRight = new SimMotor();
+	public final SimMotor collectorLeft = new SimMotor();
+	public final SimMotor collectorRight = new SimMotor();
+	public final SimMotor liftMotors = new SimMotor();
+	public final SimMotor climbMotors = new SimMotor();
+	public final SimMotor hookMotor = new SimMotor();
+
+	//Sensors
+	public final SimEncoder driveEncoderLeft = new SimEncoder();
+	public final SimEncoder driveEncoderRight = new SimEncoder();
+	public final SimEncoder liftEncoder = new SimEncoder();
+
+	//Driver Controls, Set by Whoever Runs the Simulation
+	public final SimStick joystickLeft = new SimStick();
+	public final SimStick joystickRight = new SimStick();
+
+	public final SimVision limelight = new SimVision();
+	public final SimRioduino rioduino = new SimRioduino();
+	public final RioduinoSampler rioduinoSampler;
+	public final SimDashboard dashboard = new SimDashboard();
+
+	//Battery Voltage With Nothing Running, Set by Whoever Runs the Simulation
+	public double restingVoltage = 12.5;
+
+	//Robot State (Feet, Radians, Seconds)
+	private double time = 0.0;
+	private double batteryVoltage = 12.5;
+	private double x = 0.0;
+	private double y = 0.0;
+	private double heading = 0.0;
+	private double leftVelocity = 0.0;
+	private double rightVelocity = 0.0;
+	private double leftDistance = 0.0;
+	private double rightDistance = 0.0;
+	private double liftPosition = 0.0;
+	private double liftVelocity = 0.0;
+
+	//Cube Tracking
+	private double ejectTime = 0.0;
+	private boolean cubeEjected = false;
+	private double cubeX, cubeY;
+
+	//Vision Target, and Where the Robot Was Lately for the Picture Age
+	private boolean hasTarget = false;
+	private double targetX, targetY;
+	private final double[] poseTime = new double[POSE_HISTORY];
+	private final double[] poseX = new double[POSE_HISTORY];
+	private final double[] poseY = new double[POSE_HISTORY];
+	private final double[] poseHeading = new double[POSE_HISTORY];
+	private int poseCount = 0;
+
+	//Walls the Ultrasonics Can See: One Across the Field (Like the Switch Fence) and One Along It
+	private double wallX = Double.NaN;
+	private double sideWallY = Double.NaN;
+	private double nextUltrasonicTime = 0.0;
+
+	//The Real Robot Has No Gyro Yet, So by Default Neither Does the Sim
+	private final boolean hasGyro;
+
+	public SimHardware() {
+		this(false);
+	}
+
+	/**
+	 * @param hasGyro whether to give RobotLogic a (perfect) gyro
+	 */
+	public SimHardware(boolean hasGyro) {
+		this.hasGyro = hasGyro;
+		rioduinoSampler = new RioduinoSampler(rioduino, () -> time);
+	}
+
+	/**
+	 * Puts a vision target on the field. The Limelight sees it while its
+	 * LEDs are on and it is in view.
+	 */
+	public void setVisionTarget(double x, double y) {
+		hasTarget = true;
+		targetX = x;
+		targetY = y;
+	}
+
+	/**
+	 * Puts a wall across the field at x, facing the robot's start, for the
+	 * ultrasonics to see.
+	 */
+	public void setWall(double x) {
+		wallX = x;
+	}
+
+	/**
+	 * Puts a wall along the field at y (left of the start is positive).
+	 */
+	public void setSideWall(double y) {
+		sideWallY = y;
+	}
+
+	/**
+	 * @return RobotIO that reads and writes this simulation
+	 */
+	public RobotIO createIO() {
+		RobotIO io = new RobotIO();
+		io.driveLeft = driveLeft;
+		io.driveRight = driveRight;
+		io.collectorLeft = collectorLeft;
+		io.collectorRight = collectorRight;
+		io.liftMotors = liftMotors;
+		io.climbMotors = climbMotors;
+		io.hookMotor = hookMotor;
+		io.driveEncoderLeft = driveEncoderLeft;
+		io.driveEncoderRight = driveEncoderRight;
+		io.gyro = hasGyro ? () -> -Math.toDegrees(heading) : null;
+		io.liftEncoder = liftEncoder;
+		io.reedSwitchTop = () -> liftPosition < LIFT_TRAVEL - REED_RANGE;
+		io.reedSwitchBot = () -> liftPosition > REED_RANGE;
+		io.joystickLeft = joystickLeft;
+		io.joystickRight = joystickRight;
+		io.limelight = limelight;
+		io.ultrasonics = rioduinoSampler;
+		io.battery = () -> batteryVoltage;
+		io.clock = () -> time;
+		io.dashboard = dashboard;
+		return io;
+	}
+
+	/**
+	 * Moves the simulation forward by dt seconds using the current outputs.
+	 */
+	public void step(double dt) {
+		time += dt;
+
+		//Battery Sags With the Current Drawn, Motors Go as Fast as the Volts They Get
+		double amps = AMPS_AT_FULL * (Math.abs(driveLeft.get()) + Math.abs(driveRight.get())
+			+ Math.abs(collectorLeft.get()) + Math.abs(collectorRight.get()) + Math.abs(liftMotors.get())
+			+ Math.abs(climbMotors.get()) + Math.abs(hookMotor.get()));
+		batteryVoltage = restingVoltage - BATTERY_RESISTANCE * amps;
+		double volts = batteryVoltage / VoltageCompensation.NOMINAL_VOLTAGE;
+
+		//Drive: Left Side Forward Is a Positive Output, Right Side Is Negative
+		leftVelocity += (driveLeft.get() * volts * DRIVE_TOP_SPEED - leftVelocity) * Math.min(1.0, dt / DRIVE_LAG);
+		rightVelocity += (-driveRight.get() * volts * DRIVE_TOP_SPEED - rightVelocity) * Math.min(1.0, dt / DRIVE_LAG);
+		leftDistance += leftVelocity * dt;
+		rightDistance += rightVelocity * dt;
+
+		double speed = (leftVelocity + rightVelocity) / 2.0;
+		heading += (rightVelocity - leftVelocity) / TRACK_WIDTH * dt;
+		x += speed * Math.cos(heading) * dt;
+		y += speed * Math.sin(heading) * dt;
+
+		//Left Encoder Counts Down Going Forward
+		driveEncoderLeft.update(-leftDistance * COUNTS_PER_FOOT, -leftVelocity * COUNTS_PER_FOOT);
+		driveEncoderRight.update(rightDistance * COUNTS_PER_FOOT, rightVelocity * COUNTS_PER_FOOT);
+
+		updateVision();
+		updateUltrasonics();
+
+		//Lift, Stops Hard at Both Ends
+		liftVelocity += (liftMotors.get() * volts * LIFT_TOP_SPEED - liftVelocity) * Math.min(1.0, dt / LIFT_LAG);
+		liftPosition += liftVelocity * dt;
+		if (liftPosition < 0.0) {
+			liftPosition = 0.0;
+			liftVelocity = 0.0;
+		} else if (liftPosition > LIFT_TRAVEL) {
+			liftPosition = LIFT_TRAVEL;
+			liftVelocity = 0.0;
+		}
+		liftEncoder.update(liftPosition, liftVelocity);
+
+		//Cube Leaves After Half a Second of Ejecting
+		if (!cubeEjected) {
+			if (collectorLeft.get() > 0.5) {
+				ejectTime += dt;
+				if (ejectTime >= 0.5) {
+					cubeEjected = true;
+					cubeX = x;
+					cubeY = y;
+				}
+			} else {
+				ejectTime = 0.0;
+			}
+		}
+	}
+
+	//Limelight Sees the Target From Where the Robot Was VISION_LATENCY Ago
+	private void updateVision() {
+		int index = poseCount % POSE_HISTORY;
+		poseTime[index] = time;
+		poseX[index] = x;
+		poseY[index] = y;
+		poseHeading[index] = heading;
+		poseCount++;
+
+		int seen = poseCount - 1;
+		while (seen > Math.max(0, poseCount - POSE_HISTORY) && poseTime[seen % POSE_HISTORY] > time - VISION_LATENCY) {
+			seen--;
+		}
+		seen %= POSE_HISTORY;
+
+		VisionTarget target = limelight.current;
+		target.valid = false;
+		if (!hasTarget || limelight.ledMode != RobotIO.Vision.LED_ON) {
+			return;
+		}
+		double dx = targetX - poseX[seen];
+		double dy = targetY - poseY[seen];
+		double distance = Math.hypot(dx, dy);
+		double angle = Math.atan2(dy, dx) - poseHeading[seen];
+		angle = Math.atan2(Math.sin(angle), Math.cos(angle));
+
+		//tx Is Positive With the Target to the Right
+		double tx = -Math.toDegrees(angle);
+		if (Math.abs(tx) > VISION_HALF_FOV || distance < 0.5) {
+			return;
+		}
+		target.valid = true;
+		target.x = tx;
+		target.y = 0.0;
+		target.area = VISION_AREA_AT_FOOT / (distance * distance);
+		target.latency = time - poseTime[seen];
+		target.timestamp = time;
+	}
+
+	//Rioduino Distances From Where the Robot Is Now, Sampled Like the Real Thread Would
+	private void updateUltrasonics() {
+		int[] distances = rioduino.distances;
+		double cos = Math.cos(heading), sin = Math.sin(heading);
+		distances[0] = ultrasonic(cos, sin, ULTRASONIC_FRONT, ULTRASONIC_SPREAD / 2.0, 0);
+		distances[1] = ultrasonic(cos, sin, ULTRASONIC_FRONT, -ULTRASONIC_SPREAD / 2.0, 0);
+		distances[2] = ultrasonic(cos, sin, 0.0, ULTRASONIC_SIDE, 1);
+		distances[3] = ultrasonic(cos, sin, 0.0, -ULTRASONIC_SIDE, -1);
+
+		if (time >= nextUltrasonicTime - 1e-9) {
+			rioduinoSampler.sampleOnce();
+			nextUltrasonicTime += RioduinoSampler.PERIOD;
+		}
+	}
+
+	/**
+	 * Centimetres from a sensor to the nearest wall it can hear, or 0.
+	 *
+	 * @param ahead where the sensor is, ahead of the middle (feet)
+	 * @param side where the sensor is, left of the middle (feet)
+	 * @param facing 0 if it points ahead, 1 if left, -1 if right
+	 */
+	private int ultrasonic(double cos, double sin, double ahead, double side, int facing) {
+		double sensorX = x + cos * ahead - sin * side;
+		double sensorY = y + sin * ahead + cos * side;
+		double directionX = facing == 0 ? cos : -facing * sin;
+		double directionY = facing == 0 ? sin : facing * cos;
+		//Hitting a Wall Closer to Straight On Than the Beam Angle
+		double minCos = Math.cos(Math.toRadians(ULTRASONIC_BEAM_ANGLE));
+
+		double nearest = Double.POSITIVE_INFINITY;
+		double toWall = (wallX - sensorX) / directionX;
+		if (toWall > 0.0 && Math.abs(directionX) >= minCos) {
+			nearest = toWall;
+		}
+		double toSide = (sideWallY - sensorY) / directionY;
+		if (toSide > 0.0 && Math.abs(directionY) >= minCos) {
+			nearest = Math.min(nearest, toSide);
+		}
+		double cm = nearest * UltrasonicReadings.CM_PER_FOOT;
+		return cm <= ULTRASONIC_RANGE ? (int) Math.round(cm) : 0;
+	}
+
+	public double getTime() {
+		return time;
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getHeading() {
+		return heading;
+	}
+
+	public double getLiftPosition() {
+		return liftPosition;
+	}
+
+	public boolean isCubeEjected() {
+		return cubeEjected;
+	}
+
+	public double getCubeX() {
+		return cubeX;
+	}
+
+	public double getCubeY() {
+		return cubeY;
+	}
+
+	public static class SimMotor implements RobotIO.Motor {
+		private double speed;
+
+		@Override
+		public void set(double speed) {
+			this.speed = Math.max(-1.0, Math.min(1.0, speed));
+		}
+
+		public double get() {
+			return speed;
+		}
+	}
+
+	public static class SimEncoder implements RobotIO.Encoder {
+		private double position;
+		private double rate;
+		private double offset;
+
+		void update(double position, double rate) {
+			this.position = position;
+			this.rate = rate;
+		}
+
+		@Override
+		public int get() {
+			return (int) (position - offset);
+		}
+
+		@Override
+		public double getRate() {
+			return rate;
+		}
+
+		@Override
+		public void reset() {
+			offset = position;
+		}
+	}
+
+	public static class SimStick implements RobotIO.Stick {
+		public double y;
+		public double twist;
+		public final boolean[] buttons = new boolean[13];
+
+		@Override
+		public double getY() {
+			return y;
+		}
+
+		@Override
+		public double getTwist() {
+			return twist;
+		}
+
+		@Override
+		public boolean getRawButton(int button) {
+			return buttons[button];
+		}
+
+		@Override
+		public boolean getTrigger() {
+			return buttons[1];
+		}
+
+		@Override
+		public int getButtons() {
+			int bits = 0;
+			for (int i = 1; i < buttons.length; i++) {
+				if (buttons[i]) {
+					bits |= 1 << (i - 1);
+				}
+			}
+			return bits;
+		}
+	}
+
+	/**
+	 * A Limelight that sees whatever target the simulation tells it to.
+	 */
+	public static class SimVision implements RobotIO.Vision {
+		public final VisionTarget current = new VisionTarget();
+		public int camMode = -1;
+		public int ledMode = -1;
+
+		@Override
+		public void read(VisionTarget target) {
+			target.valid = current.valid;
+			target.x = current.x;
+			target.y = current.y;
+			target.area = current.area;
+			target.latency = current.latency;
+			target.timestamp = current.timestamp;
+		}
+
+		@Override
+		public void setCamMode(int mode) {
+			camMode = mode;
+		}
+
+		@Override
+		public void setLedMode(int mode) {
+			ledMode = mode;
+		}
+	}
+
+	/**
+	 * Answers I2C transactions like the Rioduino: four distances in
+	 * centimetres, two bytes each, high byte first.
+	 */
+	public static class SimRioduino implements RobotIO.I2CDevice {
+		//Front Left, Front Right, Left, Right
+		public final int[] distances = new int[4];
+		//Set to Make Every Transaction Abort, Like a Loose Cable
+		public boolean failing = false;
+		private int transactions = 0;
+
+		@Override
+		public boolean transaction(byte[] request, byte[] response) {
+			transactions++;
+			if (failing) {
+				return true;
+			}
+			for (int i = 0; i < distances.length && i * 2 + 1 < response.length; i++) {
+				response[i * 2] = (byte) (distances[i] >> 8);
+				response[i * 2 + 1] = (byte) distances[i];
+			}
+			return false;
+		}
+
+		public int getTransactions() {
+			return transactions;
+		}
+	}
+
+	/**
+	 * Keeps the last value sent for each dashboard key.
+	 */
+	public static class SimDashboard implements Telemetry.Publisher {
+		private final Map<String, Integer> keys = new HashMap<>();
+		private final double[] numbers = new double[Telemetry.MAX_VALUES];
+		private final boolean[] booleans = new boolean[Telemetry.MAX_VALUES];
+
+		@Override
+		public void add(int index, String key) {
+			keys.put(key, index);
+		}
+
+		@Override
+		public void putNumber(int index, double value) {
+			numbers[index] = value;
+		}
+
+		@Override
+		public void putBoolean(int index, boolean value) {
+			booleans[index] = value;
+		}
+
+		public double getNumber(String key) {
+			return numbers[keys.get(key)];
+		}
+
+		public boolean getBoolean(String key) {
+			return booleans[keys.get(key)];
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs RobotLogic against SimHardware the same way IterativeRobot would,
+ * one 20 ms loop after another, but without waiting between loops.
+ *
+ * Run main() to try every auto on both switch sides from a laptop. Give it
+ * a file and every match (plus a little scripted teleop) is also written
+ * to that match log, which is then run through MatchReplay to check the
+ * log replays with no mismatches:
+ *   java org.usfirst.frc.team4512.robot.Simulation [sim.bin]
+ */
+public class Simulation {
+	//Same Loop Period as IterativeRobot
+	public static final double LOOP_PERIOD = 0.02;
+	//Physics Steps Per Loop, One Per Control Loop Tick
+	private static final int SUBSTEPS = 4;
+
+	public final SimHardware sim;
+	public final RobotLogic logic;
+
+	public Simulation() {
+		this(new AutoTuning());
+	}
+
+	public Simulation(AutoTuning tuning) {
+		this(tuning, false);
+	}
+
+	public Simulation(AutoTuning tuning, boolean gyro) {
+		sim = new SimHardware(gyro);
+		logic = new RobotLogic(sim.createIO(), tuning);
+	}
+
+	/**
+	 * Runs autonomousInit() and then autonomousPeriodic() for a number of
+	 * seconds of robot time.
+	 */
+	public void runAutonomous(AutoRoutine routine, String gameData, double seconds) {
+		logic.autonomousInit(routine, gameData);
+		int loops = (int) Math.round(seconds / LOOP_PERIOD);
+		for (int i = 0; i < loops; i++) {
+			logic.autonomousPeriodic();
+			logic.robotPeriodic();
+			advance();
+		}
+	}
+
+	/**
+	 * Runs teleopInit() and then teleopPeriodic() for a number of seconds of
+	 * robot time, with whatever the sim joysticks are set to.
+	 */
+	public void runTeleop(double seconds) {
+		logic.teleopInit();
+		continueTeleop(seconds);
+	}
+
+	/**
+	 * Runs teleopPeriodic() for a number of seconds without starting teleop
+	 * over, so the joysticks can be changed part way through.
+	 */
+	public void continueTeleop(double seconds) {
+		int loops = (int) Math.round(seconds / LOOP_PERIOD);
+		for (int i = 0; i < loops; i++) {
+			logic.teleopPeriodic();
+			logic.robotPeriodic();
+			advance();
+		}
+	}
+
+	/**
+	 * Moves the simulation on by one robot loop, running the control loop
+	 * before each physics step the way the 200 Hz control thread would.
+	 */
+	public void advance() {
+		for (int i = 0; i < SUBSTEPS; i++) {
+			logic.getControlLoop().runOnce();
+			sim.step(LOOP_PERIOD / SUBSTEPS);
+		}
+	}
+
+	//Vision Target on the Switch Straight Ahead of the Start (Feet)
+	static final double SWITCH_TARGET_X = 11.5;
+	//Switch Fence the Ultrasonics See, Across the Field (Feet)
+	static final double SWITCH_FENCE_X = 10.0;
+
+	/**
+	 * Puts the switch in front of the start: its vision target for the
+	 * Limelight and its fence for the ultrasonics.
+	 */
+	public void setUpField() {
+		sim.setVisionTarget(SWITCH_TARGET_X, 0.0);
+		sim.setWall(SWITCH_FENCE_X);
+	}
+
+	/**
+	 * A few seconds of teleop that uses the controllers and the robot loop:
+	 * drive at the fence holding left 7, the switch preset, the lift down by
+	 * hand, then plain tank drive.
+	 */
+	public void runScriptedTeleop() {
+		logic.teleopInit();
+		//Buttons Held When Teleop Starts Don't Count, So Press Them After
+		continueTeleop(LOOP_PERIOD);
+		sim.joystickRight.y = -0.8;
+		sim.joystickLeft.buttons[7] = true;
+		continueTeleop(2.0);
+		sim.joystickLeft.buttons[7] = false;
+		sim.joystickRight.y = 0.0;
+		sim.joystickRight.buttons[4] = true;
+		continueTeleop(0.2);
+		sim.joystickRight.buttons[4] = false;
+		continueTeleop(1.5);
+		sim.joystickRight.buttons[6] = true;
+		continueTeleop(0.5);
+		sim.joystickRight.buttons[6] = false;
+		sim.joystickLeft.y = 0.5;
+		sim.joystickRight.y = -0.5;
+		continueTeleop(1.0);
+		sim.joystickLeft.y = 0.0;
+		sim.joystickRight.y = 0.0;
+		continueTeleop(0.5);
+	}
+
+	public static void main(String[] args) throws IOException {
+		String[] sides = {"LRL", "RLR"};
+		int count = new Simulation().logic.getAutoRoutines().getRoutines().length;
+		File logFile = args.length > 0 ? new File(args[0]) : null;
+		MatchLogger logger = logFile != null ? MatchLogger.open(logFile, MatchLogger.DEFAULT_CAPACITY) : null;
+
+		for (int i = 0; i < count; i++) {
+			for (String side : sides) {
+				Simulation match = new Simulation();
+				match.setUpField();
+				match.logic.setLogger(logger);
+				AutoRoutine routine = match.logic.getAutoRoutines().getRoutines()[i];
+
+				long start = System.nanoTime();
+				match.runAutonomous(routine, side, 15.0);
+				double wall = (System.nanoTime() - start) / 1e6;
+
+				System.out.printf("%-36s %s  x=%6.2f ft  y=%6.2f ft  heading=%7.1f deg  lift=%6.0f  cube=%-5b  timedOut=%-5b  %.1f ms%n",
+					routine.getName(), side.charAt(0), match.sim.getX(), match.sim.getY(),
+					Math.toDegrees(match.sim.getHeading()), match.sim.getLiftPosition(),
+					match.sim.isCubeEjected(), routine.hasTimedOut(), wall);
+
+				if (logger != null) {
+					match.runScriptedTeleop();
+				}
+			}
+		}
+
+		if (logger == null) {
+			return;
+		}
+		logger.close();
+
+		//Round Trip: the Log Has to Replay Exactly
+		MatchReplay.Result result = new MatchReplay().replay(new MatchLogDecoder(logFile));
+		System.out.printf("%s: %d loops, %d mode starts, %d compared, %d mismatches%n",
+			logFile, result.loops, result.modeStarts, result.compared, result.mismatches);
+		System.out.print(result.report);
+		if (result.mismatches > 0) {
+			System.exit(2);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Dashboard values that are set during the loop and sent all at once.
+ *
+ * Every value is added once in robotInit() and gets a handle. Setting a
+ * handle only stores a primitive, so it is cheap to do many times a tick.
+ * flush() is called once per loop and only sends values that changed since
+ * the last flush. Nothing here allocates after robotInit().
+ */
+public class Telemetry {
+	public static final int MAX_VALUES = 128;
+
+	/**
+	 * Where flushed values end up (NetworkTables on the robot).
+	 */
+	public interface Publisher {
+		void add(int index, String key);
+
+		void putNumber(int index, double value);
+
+		void putBoolean(int index, boolean value);
+	}
+
+	private final Publisher publisher;
+	private final Value[] values = new Value[MAX_VALUES];
+	private int count = 0;
+
+	public Telemetry(Publisher publisher) {
+		this.publisher = publisher;
+	}
+
+	public NumberValue addNumber(String key) {
+		NumberValue value = new NumberValue(count);
+		add(key, value);
+		return value;
+	}
+
+	public BooleanValue addBoolean(String key) {
+		BooleanValue value = new BooleanValue(count);
+		add(key, value);
+		return value;
+	}
+
+	private void add(String key, Value value) {
+		if (count == MAX_VALUES) {
+			throw new IllegalStateException("Too many telemetry values");
+		}
+
+		values[count++] = value;
+		publisher.add(value.index, key);
+	}
+
+	/**
+	 * Sends every value that changed since the last flush. Call once per loop.
+	 */
+	public void flush() {
+		for (int i = 0; i < count; i++) {
+			Value value = values[i];
+			if (value.dirty) {
+				value.publish(publisher);
+				value.dirty = false;
+			}
+		}
+	}
+
+	private abstract static class Value {
+		final int index;
+		boolean dirty = true;
+
+		Value(int index) {
+			this.index = index;
+		}
+
+		abstract void publish(Publisher publisher);
+	}
+
+	public static final class NumberValue extends Value {
+		private double value;
+
+		NumberValue(int index) {
+			super(index);
+		}
+
+		public void set(double value) {
+			if (value != this.value) {
+				this.value = value;
+				dirty = true;
+			}
+		}
+
+		public double get() {
+			return value;
+		}
+
+		@Override
+		void publish(Publisher publisher) {
+			publisher.putNumber(index, value);
+		}
+	}
+
+	public static final class BooleanValue extends Value {
+		private boolean value;
+
+		BooleanValue(int index) {
+			super(index);
+		}
+
+		public void set(boolean value) {
+			if (value != this.value) {
+				this.value = value;
+				dirty = true;
+			}
+		}
+
+		public boolean get() {
+			return value;
+		}
+
+		@Override
+		void publish(Publisher publisher) {
+			publisher.putBoolean(index, value);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * A path for the robot to follow, already worked out as where the robot
+ * should be and how fast it should be going every DT seconds.
+ *
+ * Everything is in float arrays, one entry per sample, so a few seconds of
+ * path is a few kilobytes and looking up a time is just an index and an
+ * interpolation. Made by TrajectoryGenerator, followed by PathFollower.
+ * Positions are in feet in the same frame as Odometry (x ahead and y to
+ * the left of where auto started), headings in radians counter-clockwise.
+ */
+public class Trajectory {
+	//Seconds Between Samples
+	public static final double DT = 0.01;
+
+	/**
+	 * Where the robot should be at one moment, filled in by sample().
+	 */
+	public static class State {
+		public double x;
+		public double y;
+		public double heading;
+		//Feet/s Forward, Radians/s Counter-Clockwise, Feet/s^2
+		public double velocity;
+		public double angularVelocity;
+		public double acceleration;
+	}
+
+	final float[] x;
+	final float[] y;
+	final float[] heading;
+	final float[] velocity;
+	final float[] angularVelocity;
+	final float[] acceleration;
+
+	/**
+	 * Makes an empty trajectory with room for a number of samples, for the
+	 * generator or a loader to fill in.
+	 */
+	Trajectory(int size) {
+		x = new float[size];
+		y = new float[size];
+		heading = new float[size];
+		velocity = new float[size];
+		angularVelocity = new float[size];
+		acceleration = new float[size];
+	}
+
+	public int size() {
+		return x.length;
+	}
+
+	//Seconds From Start to Finish
+	public double getTotalTime() {
+		return (size() - 1) * DT;
+	}
+
+	/**
+	 * Fills out with where the robot should be at time seconds into the
+	 * path. Times past the end get the last sample.
+	 */
+	public void sample(double time, State out) {
+		double position = Math.max(0.0, time / DT);
+		int index = (int) position;
+		if (index >= size() - 1) {
+			copy(size() - 1, out);
+			return;
+		}
+		double t = position - index;
+		out.x = lerp(x, index, t);
+		out.y = lerp(y, index, t);
+		out.heading = lerp(heading, index, t);
+		out.velocity = lerp(velocity, index, t);
+		out.angularVelocity = lerp(angularVelocity, index, t);
+		out.acceleration = lerp(acceleration, index, t);
+	}
+
+	private void copy(int index, State out) {
+		out.x = x[index];
+		out.y = y[index];
+		out.heading = heading[index];
+		out.velocity = velocity[index];
+		out.angularVelocity = angularVelocity[index];
+		out.acceleration = acceleration[index];
+	}
+
+	private static double lerp(float[] values, int index, double t) {
+		return values[index] + (values[index + 1] - values[index]) * t;
+	}
+}
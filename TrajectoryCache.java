@@ -0,0 +1,225 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Every auto path worked out ahead of time and saved in one file, so the
+ * robot doesn't spend boot time making splines.
+ *
+ * Make the file on a laptop before deploying, and deploy it with the code:
+ *   java org.usfirst.frc.team4512.robot.TrajectoryCache deploy/paths.bin
+ * It ends up at DEPLOY_FILE on the roboRIO. robotInit() maps the file (the
+ * operating system only reads the parts we use) and AutoRoutines asks it
+ * for each path. Each path is stored under a key made from its waypoints,
+ * the path tuning and the generator settings. If anything changed since
+ * the file was made, or there is no file, the path is made on the spot
+ * like before and counted in getMisses(), so the robot always works and
+ * only boots slower.
+ *
+ * Layout (little endian):
+ *   header     MAGIC, VERSION, path count, unused (4 ints)
+ *   directory  key (long), data offset (int), samples (int) for each path
+ *   data       x, y, heading, velocity, angularVelocity, acceleration
+ *              (samples floats each) for each path
+ */
+public class TrajectoryCache {
+	public static final String DEPLOY_FILE = "/home/lvuser/deploy/paths.bin";
+
+	static final int MAGIC = 0x50415448;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final int ENTRY_SIZE = 16;
+	static final int ARRAYS = 6;
+
+	private final MappedByteBuffer buffer;
+	private final int count;
+	private int hits = 0;
+	private int misses = 0;
+
+	private TrajectoryCache(MappedByteBuffer buffer, int count) {
+		this.buffer = buffer;
+		this.count = count;
+	}
+
+	/**
+	 * A cache with nothing in it, for the simulator and tools. Every path
+	 * is made when asked for.
+	 */
+	public static TrajectoryCache empty() {
+		return new TrajectoryCache(null, 0);
+	}
+
+	/**
+	 * Maps a cache file. A missing or unreadable file, or one from another
+	 * version, gives an empty cache.
+	 */
+	public static TrajectoryCache open(File path) {
+		if (!path.isFile()) {
+			return empty();
+		}
+		try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+			MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+				return empty();
+			}
+			int count = buffer.getInt(8);
+			if (count < 0 || HEADER_SIZE + (long) count * ENTRY_SIZE > buffer.capacity()) {
+				return empty();
+			}
+			return new TrajectoryCache(buffer, count);
+		} catch (IOException e) {
+			return empty();
+		}
+	}
+
+	/**
+	 * The path through these waypoints with the tuning's limits, from the
+	 * file if it is there, otherwise made now.
+	 *
+	 * @param waypoints x, y, heading triples like TrajectoryGenerator takes
+	 */
+	public Trajectory get(AutoTuning tuning, double[] waypoints) {
+		Trajectory cached = find(key(tuning, waypoints));
+		if (cached != null) {
+			hits++;
+			return cached;
+		}
+		misses++;
+		return TrajectoryGenerator.generate(tuning, waypoints);
+	}
+
+	//Paths That Came From the File
+	public int getHits() {
+		return hits;
+	}
+
+	//Paths That Had to Be Made Because They Weren't in the File
+	public int getMisses() {
+		return misses;
+	}
+
+	private Trajectory find(long key) {
+		for (int i = 0; i < count; i++) {
+			int entry = HEADER_SIZE + i * ENTRY_SIZE;
+			if (buffer.getLong(entry) != key) {
+				continue;
+			}
+			int offset = buffer.getInt(entry + 8);
+			int samples = buffer.getInt(entry + 12);
+			if (samples < 2 || offset < 0 || offset + (long) samples * ARRAYS * 4 > buffer.capacity()) {
+				return null;
+			}
+
+			Trajectory trajectory = new Trajectory(samples);
+			float[][] arrays = arrays(trajectory);
+			for (int a = 0; a < ARRAYS; a++) {
+				int base = offset + a * samples * 4;
+				float[] values = arrays[a];
+				for (int j = 0; j < samples; j++) {
+					values[j] = buffer.getFloat(base + j * 4);
+				}
+			}
+			return trajectory;
+		}
+		return null;
+	}
+
+	/**
+	 * Identifies a path: the same waypoints, tuning and generator settings
+	 * always make the same path, so they make the same key.
+	 */
+	static long key(AutoTuning tuning, double[] waypoints) {
+		long hash = 0xcbf29ce484222325L;
+		hash = mix(hash, Trajectory.DT);
+		hash = mix(hash, TrajectoryGenerator.PIECES_PER_SEGMENT);
+		hash = mix(hash, TrajectoryGenerator.TANGENT_SCALE);
+		hash = mix(hash, tuning.pathMaxVelocity);
+		hash = mix(hash, tuning.pathMaxAcceleration);
+		hash = mix(hash, tuning.trackWidth);
+		hash = mix(hash, waypoints.length);
+		for (double value : waypoints) {
+			hash = mix(hash, value);
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, double value) {
+		hash = (hash ^ Double.doubleToLongBits(value)) * 0x100000001b3L;
+		return hash ^ (hash >>> 29);
+	}
+
+	private static float[][] arrays(Trajectory trajectory) {
+		return new float[][] {
+			trajectory.x, trajectory.y, trajectory.heading,
+			trajectory.velocity, trajectory.angularVelocity, trajectory.acceleration
+		};
+	}
+
+	/**
+	 * Makes every path in AutoPaths and saves them to a file.
+	 */
+	public static void write(File path, AutoTuning tuning) throws IOException {
+		double[][] paths = AutoPaths.all(tuning);
+		Trajectory[] trajectories = new Trajectory[paths.length];
+		long size = HEADER_SIZE + (long) paths.length * ENTRY_SIZE;
+		for (int i = 0; i < paths.length; i++) {
+			trajectories[i] = TrajectoryGenerator.generate(tuning, paths[i]);
+			size += (long) trajectories[i].size() * ARRAYS * 4;
+		}
+
+		File directory = path.getAbsoluteFile().getParentFile();
+		if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Couldn't create " + directory);
+		}
+		try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+			file.setLength(size);
+			MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putInt(8, paths.length);
+			buffer.putInt(12, 0);
+
+			int offset = HEADER_SIZE + paths.length * ENTRY_SIZE;
+			for (int i = 0; i < paths.length; i++) {
+				int entry = HEADER_SIZE + i * ENTRY_SIZE;
+				int samples = trajectories[i].size();
+				buffer.putLong(entry, key(tuning, paths[i]));
+				buffer.putInt(entry + 8, offset);
+				buffer.putInt(entry + 12, samples);
+				for (float[] values : arrays(trajectories[i])) {
+					for (float value : values) {
+						buffer.putFloat(offset, value);
+						offset += 4;
+					}
+				}
+			}
+			buffer.force();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: TrajectoryCache <output file>");
+			System.exit(1);
+		}
+		File path = new File(args[0]);
+		long start = System.nanoTime();
+		write(path, new AutoTuning());
+		System.out.printf("%d paths, %d bytes written to %s in %.0f ms%n",
+			AutoPaths.all(new AutoTuning()).length, path.length(), path, (System.nanoTime() - start) / 1e6);
+	}
+}
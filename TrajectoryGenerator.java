@@ -0,0 +1,143 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Turns a list of waypoints into a Trajectory.
+ *
+ * Each pair of waypoints is joined by a cubic Hermite spline, which leaves
+ * and arrives at the waypoint headings, so the path is smooth through
+ * every waypoint. The splines are cut into small pieces, and each piece
+ * gets a speed limit so the outside wheel on a curve stays under the max
+ * speed. A pass forwards and a pass backwards then hold the acceleration
+ * to the max, starting and ending stopped. Adding up how long each piece
+ * takes at that speed gives the times, and the result is sampled every
+ * Trajectory.DT seconds.
+ *
+ * This is slow next to everything else in the robot code, so do it before
+ * the match starts, never in autonomousInit().
+ */
+public final class TrajectoryGenerator {
+	//Pieces Each Spline Is Cut Into
+	static final int PIECES_PER_SEGMENT = 200;
+	//Spline Tangent Length as a Fraction of the Distance Between Waypoints
+	static final double TANGENT_SCALE = 1.2;
+
+	private TrajectoryGenerator() {
+	}
+
+	/**
+	 * @param tuning path speed and acceleration limits and the track width
+	 * @param waypoints x (feet), y (feet) and heading (degrees) for each
+	 *        waypoint, one after another, at least two waypoints
+	 */
+	public static Trajectory generate(AutoTuning tuning, double... waypoints) {
+		return generate(tuning.pathMaxVelocity, tuning.pathMaxAcceleration, tuning.trackWidth, waypoints);
+	}
+
+	public static Trajectory generate(double maxVelocity, double maxAcceleration, double trackWidth, double... waypoints) {
+		if (waypoints.length < 6 || waypoints.length % 3 != 0) {
+			throw new IllegalArgumentException("Waypoints are x, y, heading triples, at least two of them");
+		}
+
+		//Points Along the Splines
+		int segments = waypoints.length / 3 - 1;
+		int points = segments * PIECES_PER_SEGMENT + 1;
+		double[] px = new double[points];
+		double[] py = new double[points];
+		double[] heading = new double[points];
+		double[] curvature = new double[points];
+		double[] distance = new double[points];
+
+		for (int segment = 0; segment < segments; segment++) {
+			int w = segment * 3;
+			double x0 = waypoints[w], y0 = waypoints[w + 1], h0 = Math.toRadians(waypoints[w + 2]);
+			double x1 = waypoints[w + 3], y1 = waypoints[w + 4], h1 = Math.toRadians(waypoints[w + 5]);
+			double tangent = TANGENT_SCALE * Math.hypot(x1 - x0, y1 - y0);
+			double tx0 = tangent * Math.cos(h0), ty0 = tangent * Math.sin(h0);
+			double tx1 = tangent * Math.cos(h1), ty1 = tangent * Math.sin(h1);
+
+			for (int piece = segment == 0 ? 0 : 1; piece <= PIECES_PER_SEGMENT; piece++) {
+				double s = (double) piece / PIECES_PER_SEGMENT;
+				int i = segment * PIECES_PER_SEGMENT + piece;
+
+				//Hermite Basis Functions and Their First Two Derivatives
+				double s2 = s * s, s3 = s2 * s;
+				double h00 = 2 * s3 - 3 * s2 + 1, h10 = s3 - 2 * s2 + s, h01 = -2 * s3 + 3 * s2, h11 = s3 - s2;
+				double d00 = 6 * s2 - 6 * s, d10 = 3 * s2 - 4 * s + 1, d01 = -6 * s2 + 6 * s, d11 = 3 * s2 - 2 * s;
+				double e00 = 12 * s - 6, e10 = 6 * s - 4, e01 = -12 * s + 6, e11 = 6 * s - 2;
+
+				px[i] = h00 * x0 + h10 * tx0 + h01 * x1 + h11 * tx1;
+				py[i] = h00 * y0 + h10 * ty0 + h01 * y1 + h11 * ty1;
+				double dx = d00 * x0 + d10 * tx0 + d01 * x1 + d11 * tx1;
+				double dy = d00 * y0 + d10 * ty0 + d01 * y1 + d11 * ty1;
+				double ddx = e00 * x0 + e10 * tx0 + e01 * x1 + e11 * tx1;
+				double ddy = e00 * y0 + e10 * ty0 + e01 * y1 + e11 * ty1;
+
+				heading[i] = Math.atan2(dy, dx);
+				curvature[i] = (dx * ddy - dy * ddx) / Math.pow(dx * dx + dy * dy, 1.5);
+				if (i > 0) {
+					//Keep the Heading Continuous Instead of Jumping at +-180
+					heading[i] = heading[i - 1] + wrap(heading[i] - heading[i - 1]);
+					distance[i] = distance[i - 1] + Math.hypot(px[i] - px[i - 1], py[i] - py[i - 1]);
+				}
+			}
+		}
+
+		//Speed Limits: Outside Wheel on Curves, Then Acceleration Both Ways
+		double[] speed = new double[points];
+		for (int i = 0; i < points; i++) {
+			speed[i] = maxVelocity / (1.0 + Math.abs(curvature[i]) * trackWidth / 2.0);
+		}
+		speed[0] = 0.0;
+		speed[points - 1] = 0.0;
+		for (int i = 1; i < points; i++) {
+			double ds = distance[i] - distance[i - 1];
+			speed[i] = Math.min(speed[i], Math.sqrt(speed[i - 1] * speed[i - 1] + 2.0 * maxAcceleration * ds));
+		}
+		for (int i = points - 2; i >= 0; i--) {
+			double ds = distance[i + 1] - distance[i];
+			speed[i] = Math.min(speed[i], Math.sqrt(speed[i + 1] * speed[i + 1] + 2.0 * maxAcceleration * ds));
+		}
+
+		//Time at Each Point
+		double[] time = new double[points];
+		for (int i = 1; i < points; i++) {
+			double ds = distance[i] - distance[i - 1];
+			double average = (speed[i] + speed[i - 1]) / 2.0;
+			time[i] = time[i - 1] + (average > 0.0 ? ds / average : 0.0);
+		}
+
+		//Sample Every DT
+		int size = (int) Math.ceil(time[points - 1] / Trajectory.DT) + 1;
+		Trajectory trajectory = new Trajectory(size);
+		int i = 0;
+		for (int n = 0; n < size; n++) {
+			double t = Math.min(n * Trajectory.DT, time[points - 1]);
+			while (i < points - 2 && time[i + 1] < t) {
+				i++;
+			}
+			double span = time[i + 1] - time[i];
+			double f = span > 0.0 ? (t - time[i]) / span : 0.0;
+			double v = speed[i] + (speed[i + 1] - speed[i]) * f;
+			double k = curvature[i] + (curvature[i + 1] - curvature[i]) * f;
+
+			trajectory.x[n] = (float) (px[i] + (px[i + 1] - px[i]) * f);
+			trajectory.y[n] = (float) (py[i] + (py[i + 1] - py[i]) * f);
+			trajectory.heading[n] = (float) (heading[i] + (heading[i + 1] - heading[i]) * f);
+			trajectory.velocity[n] = (float) v;
+			trajectory.angularVelocity[n] = (float) (v * k);
+			trajectory.acceleration[n] = (float) (span > 0.0 ? (speed[i + 1] - speed[i]) / span : 0.0);
+		}
+		return trajectory;
+	}
+
+	private static double wrap(double angle) {
+		return Math.atan2(Math.sin(angle), Math.cos(angle));
+	}
+}
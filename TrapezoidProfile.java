@@ -0,0 +1,107 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Where a move of a set distance should be at each moment: speed up at a
+ * fixed acceleration, cruise at the top speed, then slow down the same way
+ * and stop right on the distance. Short moves never reach top speed and
+ * become a triangle instead.
+ *
+ * set() works the profile out again in place, so one object can be reused
+ * for every move.
+ */
+public class TrapezoidProfile {
+	private double distance;
+	private double direction;
+	private double acceleration;
+	private double topSpeed;
+	private double accelTime;
+	private double cruiseTime;
+	private double totalTime;
+
+	/**
+	 * @param distance how far to go, can be negative
+	 * @param maxVelocity top speed (units per second)
+	 * @param maxAcceleration units per second squared
+	 */
+	public void set(double distance, double maxVelocity, double maxAcceleration) {
+		this.direction = Math.signum(distance);
+		this.distance = Math.abs(distance);
+		this.acceleration = maxAcceleration;
+
+		//Triangle if We Can't Reach Top Speed Before Halfway
+		accelTime = maxVelocity / maxAcceleration;
+		if (maxAcceleration * accelTime * accelTime > this.distance) {
+			accelTime = Math.sqrt(this.distance / maxAcceleration);
+		}
+		topSpeed = maxAcceleration * accelTime;
+		cruiseTime = topSpeed > 0.0 ? (this.distance - topSpeed * accelTime) / topSpeed : 0.0;
+		totalTime = 2.0 * accelTime + cruiseTime;
+	}
+
+	public double getTotalTime() {
+		return totalTime;
+	}
+
+	public boolean isFinished(double t) {
+		return t >= totalTime;
+	}
+
+	//Position t Seconds Into the Move
+	public double position(double t) {
+		if (t <= 0.0) {
+			return 0.0;
+		}
+		if (t >= totalTime) {
+			return direction * distance;
+		}
+
+		double p;
+		if (t < accelTime) {
+			p = 0.5 * acceleration * t * t;
+		} else if (t < accelTime + cruiseTime) {
+			p = 0.5 * topSpeed * accelTime + topSpeed * (t - accelTime);
+		} else {
+			double left = totalTime - t;
+			p = distance - 0.5 * acceleration * left * left;
+		}
+		return direction * p;
+	}
+
+	//Velocity t Seconds Into the Move
+	public double velocity(double t) {
+		if (t <= 0.0 || t >= totalTime) {
+			return 0.0;
+		}
+
+		double v;
+		if (t < accelTime) {
+			v = acceleration * t;
+		} else if (t < accelTime + cruiseTime) {
+			v = topSpeed;
+		} else {
+			v = acceleration * (totalTime - t);
+		}
+		return direction * v;
+	}
+
+	//Acceleration t Seconds Into the Move
+	public double acceleration(double t) {
+		if (t <= 0.0 || t >= totalTime) {
+			return 0.0;
+		}
+		if (t < accelTime) {
+			return direction * acceleration;
+		}
+		if (t < accelTime + cruiseTime) {
+			return 0.0;
+		}
+		return -direction * acceleration;
+	}
+}
@@ -0,0 +1,36 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * The latest ultrasonic distances from the Rioduino, copied out by
+ * RobotIO.Ultrasonics.read().
+ */
+public class UltrasonicReadings {
+	//Readings With No Good Read in This Long (Seconds) Shouldn't Be Trusted
+	public static final double MAX_AGE = 0.1;
+	public static final double CM_PER_FOOT = 30.48;
+
+	//Centimetres From Each Sensor, 0 When It Heard No Echo
+	public int frontLeft;
+	public int frontRight;
+	public int left;
+	public int right;
+	//Clock Time of the Last Good Read, NaN Before the First One
+	public double timestamp = Double.NaN;
+	//Reads That Failed, Ever and Since the Last Good One
+	public int failures;
+	public int failuresInARow;
+
+	/**
+	 * @return true if there has been a good read in the last maxAge seconds
+	 */
+	public boolean isFresh(double time, double maxAge) {
+		return time - timestamp <= maxAge;
+	}
+}
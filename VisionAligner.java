@@ -0,0 +1,110 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Drives at the switch's vision target: steers on the Limelight's tx and
+ * keeps driving until ta (how much of the picture the target fills) gets
+ * up to a set area.
+ *
+ * The picture is a few tens of milliseconds old by the time we get it, and
+ * the robot has turned since then. So we take off however far we have
+ * turned since the frame was captured, which the SensorSnapshot looks up
+ * in the robot's DriveHistory.
+ *
+ * Runs on the robot loop, since new frames only come in at camera speed.
+ */
+public class VisionAligner {
+	private final RobotLogic robot;
+	private final double turnKP, turnKD, areaKP;
+	private final double maxSpeed, minSpeed;
+	private final double targetArea, headingTolerance;
+
+	//Steering
+	private boolean active = false;
+	private double lastError = Double.NaN;
+	private double lastTime;
+	private double bearing = 0.0;
+
+	public VisionAligner(RobotLogic robot, AutoTuning tuning) {
+		this.robot = robot;
+		turnKP = tuning.visionTurnKP;
+		turnKD = tuning.visionTurnKD;
+		areaKP = tuning.visionAreaKP;
+		maxSpeed = tuning.visionMaxSpeed;
+		minSpeed = tuning.visionMinSpeed;
+		targetArea = tuning.visionTargetArea;
+		headingTolerance = Math.toRadians(tuning.visionHeadingTolerance);
+	}
+
+	public void start() {
+		active = true;
+		lastError = Double.NaN;
+	}
+
+	//Aligning Right Now, So the Limelight LEDs Need to Be On
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Sets the drive motors for this loop.
+	 *
+	 * @param sensors this loop's snapshot, with the latest Limelight target
+	 * @param time seconds, only the time between calls matters
+	 * @return true once the target is big enough and straight ahead (the
+	 *         motors are stopped then)
+	 */
+	public boolean update(SensorSnapshot sensors, double time) {
+		VisionTarget target = sensors.vision;
+		double dt = Double.isNaN(lastError) ? 0.0 : time - lastTime;
+		lastTime = time;
+
+		if (!target.valid) {
+			//Nothing to Steer At, Wait for It
+			robot.drive(0.0, 0.0);
+			lastError = Double.NaN;
+			return false;
+		}
+
+		//Where the Target Is Now: Where It Was in the Picture, Less How Far We've Turned Since
+		bearing = -Math.toRadians(target.x) - sensors.visionTurned;
+
+		if (target.area >= targetArea && Math.abs(bearing) < headingTolerance) {
+			stop();
+			return true;
+		}
+
+		double derivative = dt <= 0.0 ? 0.0 : (bearing - lastError) / dt;
+		lastError = bearing;
+		double turn = turnKP * bearing + turnKD * derivative;
+
+		//Slow Down as the Target Gets Bigger
+		double forward = Math.max(minSpeed, Math.min(maxSpeed, areaKP * (targetArea - target.area)));
+		if (target.area >= targetArea) {
+			forward = 0.0;
+		}
+
+		robot.drive(clamp(forward - turn), clamp(forward + turn));
+		return false;
+	}
+
+	//Radians Between Straight Ahead and the Target, as of the Last Update
+	public double getBearing() {
+		return bearing;
+	}
+
+	public void stop() {
+		active = false;
+		robot.drive(0.0, 0.0);
+	}
+
+	private static double clamp(double output) {
+		return Math.max(-1.0, Math.min(1.0, output));
+	}
+}
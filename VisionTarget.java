@@ -0,0 +1,29 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * The latest Limelight target, copied out by RobotIO.Vision.read().
+ */
+public class VisionTarget {
+	public boolean valid;
+	public double x;
+	public double y;
+	public double area;
+	//Pipeline Latency in Seconds (tl Plus Capture Time)
+	public double latency;
+	//Clock Time the Last Value Arrived
+	public double timestamp;
+
+	/**
+	 * @return clock time the frame was captured
+	 */
+	public double captureTime() {
+		return timestamp - latency;
+	}
+}
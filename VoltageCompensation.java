@@ -0,0 +1,70 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Makes motor outputs mean the same thing whatever the battery is at.
+ *
+ * Every RobotIO.Output goes through this. An output of 0.4 means 40% of
+ * NOMINAL_VOLTAGE, so the motor gets 0.4 * 12 / (battery voltage) of the
+ * battery: a little less on a fresh battery, a little more late in a
+ * match. Timed autos then go the same distance every match.
+ *
+ * Reading the battery is slow next to the rest of the loop and the reading
+ * is noisy, so it is only read every SAMPLE_PERIOD and smoothed. The robot
+ * loop calls update(), and OutputStage corrects outputs on the control
+ * thread, so the scale is a volatile.
+ */
+public class VoltageCompensation {
+	public static final double NOMINAL_VOLTAGE = 12.0;
+	//Seconds Between Battery Reads, and How Fast the Smoothed Value Follows Them
+	static final double SAMPLE_PERIOD = 0.1;
+	static final double TIME_CONSTANT = 0.5;
+	//Don't Boost Outputs Any More Than This Far Into a Brownout
+	static final double MIN_VOLTAGE = 8.0;
+
+	private final RobotIO.Battery battery;
+	private double lastSample = Double.NaN;
+	private double voltage = NOMINAL_VOLTAGE;
+	private volatile double scale = 1.0;
+
+	public VoltageCompensation(RobotIO.Battery battery) {
+		this.battery = battery;
+	}
+
+	/**
+	 * Robot loop: reads the battery if it is time to.
+	 */
+	public void update(double time) {
+		if (!Double.isNaN(lastSample) && time - lastSample < SAMPLE_PERIOD) {
+			return;
+		}
+
+		double reading = battery.getVoltage();
+		if (Double.isNaN(lastSample)) {
+			voltage = reading;
+		} else {
+			voltage += (reading - voltage) * Math.min(1.0, (time - lastSample) / TIME_CONSTANT);
+		}
+		lastSample = time;
+		scale = NOMINAL_VOLTAGE / Math.max(MIN_VOLTAGE, voltage);
+	}
+
+	/**
+	 * @param output fraction of NOMINAL_VOLTAGE
+	 * @return percent output for the motor controller right now
+	 */
+	public double compensate(double output) {
+		return Math.max(-1.0, Math.min(1.0, output * scale));
+	}
+
+	//Smoothed Battery Voltage
+	public double getVoltage() {
+		return voltage;
+	}
+}
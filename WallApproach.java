@@ -0,0 +1,193 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+/**
+ * Drives up to a wall (like the switch fence) using the Rioduino
+ * ultrasonics, fast while it is far away and slowing down as it gets close.
+ *
+ * - Distance: the nearer front sensor, less how far we've driven since it
+ *   was read (readings are up to a couple of loops old).
+ * - Square: with both front sensors on the wall, turns until they read the
+ *   same, so the robot hits the wall flat.
+ * - Parallel: otherwise keeps the side sensor that saw the closest side
+ *   wall at start() reading what it did then, so the robot doesn't drift
+ *   toward or away from it.
+ *
+ * In auto, update() drives the whole approach. The encoders still cap the
+ * trip at maxTravel, so with the Rioduino unplugged (or no echo yet) it
+ * goes as far as the old encoder drive did and no further. In teleop,
+ * assist() takes the driver's forward speed and only slows it down near the
+ * wall.
+ *
+ * Only uses the loop's SensorSnapshot, so it runs on the robot loop and a
+ * replay does exactly the same thing.
+ */
+public class WallApproach {
+	//No Side Wall to Hold
+	private static final int NO_SIDE = 0;
+
+	private final RobotLogic robot;
+	private final double footCount;
+	private final double maxSpeed, minSpeed, slowKP;
+	private final double stopDistance, tolerance;
+	private final double squareKP, sideKP;
+	private final double spread;
+
+	private boolean active = false;
+	private double maxTravel;
+	private int leftStart, rightStart;
+	//Which Side Sensor Is Held (1 Left, -1 Right), and the Feet It Read at start()
+	private int side = NO_SIDE;
+	private double sideTarget;
+	private double distance = Double.NaN;
+
+	public WallApproach(RobotLogic robot, AutoTuning tuning) {
+		this.robot = robot;
+		footCount = tuning.footCount;
+		maxSpeed = tuning.wallMaxSpeed;
+		minSpeed = tuning.wallMinSpeed;
+		slowKP = tuning.wallSlowKP;
+		stopDistance = tuning.wallStopDistance;
+		tolerance = tuning.wallTolerance;
+		squareKP = tuning.wallSquareKP;
+		sideKP = tuning.wallSideKP;
+		spread = tuning.ultrasonicSpread;
+	}
+
+	/**
+	 * @param maxTravel feet to go at most if the wall isn't closer, or
+	 *        Double.POSITIVE_INFINITY for no limit
+	 */
+	public void start(SensorSnapshot sensors, double time, double maxTravel) {
+		active = true;
+		this.maxTravel = maxTravel;
+		leftStart = sensors.leftDriveCount;
+		rightStart = sensors.rightDriveCount;
+
+		UltrasonicReadings u = sensors.ultrasonics;
+		side = NO_SIDE;
+		if (u.isFresh(time, UltrasonicReadings.MAX_AGE)) {
+			if (u.left > 0 && (u.right == 0 || u.left <= u.right)) {
+				side = 1;
+				sideTarget = feet(u.left);
+			} else if (u.right > 0) {
+				side = -1;
+				sideTarget = feet(u.right);
+			}
+		}
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Auto: sets the drive motors for this loop.
+	 *
+	 * @param time clock time at the start of the loop
+	 * @return true once the robot is stopDistance from the wall, or has
+	 *         gone maxTravel (the motors are stopped then)
+	 */
+	public boolean update(SensorSnapshot sensors, double time) {
+		double remaining = remaining(sensors, time);
+		if (remaining <= tolerance) {
+			stop();
+			return true;
+		}
+		double forward = Math.max(minSpeed, Math.min(maxSpeed, slowKP * remaining));
+		double turn = turn(sensors, time);
+		robot.drive(clamp(forward - turn), clamp(forward + turn));
+		return false;
+	}
+
+	/**
+	 * Teleop: drives at the driver's speed, but never faster toward the
+	 * wall than update() would at this distance. Backing up is left alone.
+	 *
+	 * @param forward what the driver is asking for, forward is positive
+	 */
+	public void assist(SensorSnapshot sensors, double time, double forward) {
+		double remaining = remaining(sensors, time);
+		double limit = remaining <= tolerance ? 0.0 : Math.max(minSpeed, slowKP * remaining);
+		if (!sensors.ultrasonics.isFresh(time, UltrasonicReadings.MAX_AGE)) {
+			//Can't See, So Creep
+			limit = minSpeed;
+		}
+		forward = Math.min(forward, limit);
+		double turn = forward > 0.0 ? turn(sensors, time) : 0.0;
+		robot.drive(clamp(forward - turn), clamp(forward + turn));
+	}
+
+	//Feet Left to Go: To stopDistance From the Wall, or to maxTravel, Whichever Is Closer
+	private double remaining(SensorSnapshot sensors, double time) {
+		UltrasonicReadings u = sensors.ultrasonics;
+		//Left Encoder Counts Down Going Forward
+		double travelled = ((sensors.rightDriveCount - rightStart) - (sensors.leftDriveCount - leftStart)) / 2.0 / footCount;
+		double speed = (sensors.rightDriveRate - sensors.leftDriveRate) / 2.0 / footCount;
+
+		distance = Double.NaN;
+		if (u.isFresh(time, UltrasonicReadings.MAX_AGE)) {
+			double nearest = nearest(u.frontLeft, u.frontRight);
+			if (nearest > 0.0) {
+				//Take Off How Far We've Driven Since the Reading
+				distance = feet(nearest) - speed * (time - u.timestamp);
+			}
+		}
+
+		double toWall = Double.isNaN(distance) ? Double.POSITIVE_INFINITY : distance - stopDistance;
+		return Math.min(toWall, maxTravel - travelled);
+	}
+
+	//Counter-Clockwise Turn Output to Square Up or Stay Parallel
+	private double turn(SensorSnapshot sensors, double time) {
+		UltrasonicReadings u = sensors.ultrasonics;
+		if (!u.isFresh(time, UltrasonicReadings.MAX_AGE)) {
+			return 0.0;
+		}
+		if (u.frontLeft > 0 && u.frontRight > 0) {
+			//Left Side Further Away Means We're Turned Left of Square
+			double angle = Math.atan2(feet(u.frontLeft - u.frontRight), spread);
+			return -squareKP * angle;
+		}
+		if (side == 1 && u.left > 0) {
+			//Further From the Left Wall Means We're Drifting Right
+			return sideKP * (feet(u.left) - sideTarget);
+		}
+		if (side == -1 && u.right > 0) {
+			return -sideKP * (feet(u.right) - sideTarget);
+		}
+		return 0.0;
+	}
+
+	//Feet to the Wall From the Front Sensors as of the Last Update, NaN If They Can't See It
+	public double getDistance() {
+		return distance;
+	}
+
+	public void stop() {
+		active = false;
+		robot.drive(0.0, 0.0);
+	}
+
+	//Nearer of Two Readings, Ignoring Ones With No Echo (0)
+	private static int nearest(int a, int b) {
+		if (a == 0) {
+			return b;
+		}
+		return b == 0 ? a : Math.min(a, b);
+	}
+
+	private static double feet(double cm) {
+		return cm / UltrasonicReadings.CM_PER_FOOT;
+	}
+
+	private static double clamp(double output) {
+		return Math.max(-1.0, Math.min(1.0, output));
+	}
+}
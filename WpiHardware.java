@@ -0,0 +1,155 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2017-2018 FIRST. All Rights Reserved.                        */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package org.usfirst.frc.team4512.robot;
+
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.*;
+
+/**
+ * Creates the real roboRIO hardware and wraps it in the RobotIO interfaces.
+ * This is the only place port numbers live.
+ */
+
+/*
+ * I/O MAP
+ * - PWM		 Motor Name					Motor Type
+ *    0 	Right Collector Motor			  Victor
+ *    1 	Left Collector Motor			  Victor
+ *    2 	Climb Motors					  Victor
+ *    3 									  Unused
+ *    4 	Lift Motors						  Victor
+ *    5   									  Unused
+ *    6 	Hook Motor						  Victor
+ *    7 									  Unused
+ *    8 	Left Drive Motors				  Spark
+ *    9 	Right Drive Motors				  Spark
+ *
+ * - DIO		Sensor Name					Sensor Type
+ *    0		Reed Switch Top					Reed Switch
+ *    1		Lift Encoder Port A				  Encoder
+ *    2		Lift Encoder Port B				  Encoder
+ *    3		Reed Switch Bottom				Reed Switch
+ *    4		Left Drive Encoder Port A		  Encoder
+ *    5		Left Drive Encoder Port B		  Encoder
+ *    6 	Right Drive Encoder Port A		  Encoder
+ *    7     Right Drive Encoder Port B        Encoder
+ *    8
+ *    9
+ *
+ * - I2C		Device Name					Address
+ *   MXP	Rioduino (Ultrasonics)			  0x08
+*/
+
+public final class WpiHardware {
+	private WpiHardware() {
+	}
+
+	public static RobotIO create() {
+		RobotIO io = new RobotIO();
+
+		//Assigns Motors to PWM Slots
+		io.collectorRight = new Victor(0)::set;
+		io.collectorLeft = new Victor(1)::set;
+		io.climbMotors = new Victor(2)::set;
+		io.liftMotors = new Victor(4)::set;
+		io.hookMotor = new Victor(6)::set;
+		io.driveLeft = new Spark(8)::set;
+		io.driveRight = new Spark(9)::set;
+
+		//Assign Sensors to DIO Slots
+		io.reedSwitchTop = new DigitalInput(0)::get;
+		io.reedSwitchBot = new DigitalInput(3)::get;
+
+		//Assigns Encoders to DIO Slots and Resets Them
+		io.liftEncoder = new WpiEncoder(new Encoder(1, 2));
+		io.driveEncoderLeft = new WpiEncoder(new Encoder(4, 5));
+		io.driveEncoderRight = new WpiEncoder(new Encoder(6, 7));
+		io.liftEncoder.reset();
+		io.driveEncoderLeft.reset();
+		io.driveEncoderRight.reset();
+
+		//No Gyro Yet, Odometry Uses the Encoders (Set to new ADXRS450_Gyro()::getAngle Once One Is On)
+		io.gyro = null;
+
+		//Assigns Joysticks to USB Slots
+		io.joystickLeft = new WpiStick(new Joystick(1));
+		io.joystickRight = new WpiStick(new Joystick(0));
+
+		//Rioduino Ultrasonics, Read on Their Own Thread So I2C Never Holds Up a Loop
+		I2C rioduino = new I2C(I2C.Port.kMXP, RioduinoSampler.ADDRESS);
+		RioduinoSampler sampler = new RioduinoSampler(
+			(request, response) -> rioduino.transaction(request, request.length, response, response.length),
+			Timer::getFPGATimestamp);
+		sampler.start();
+		io.ultrasonics = sampler;
+
+		//Limelight, Battery, FPGA Clock and SmartDashboard
+		io.limelight = new Limelight(NetworkTableInstance.getDefault().getTable("limelight"));
+		io.battery = RobotController::getBatteryVoltage;
+		io.clock = Timer::getFPGATimestamp;
+		io.dashboard = new NetworkTablesPublisher();
+
+		return io;
+	}
+
+	private static class WpiEncoder implements RobotIO.Encoder {
+		private final Encoder encoder;
+
+		WpiEncoder(Encoder encoder) {
+			this.encoder = encoder;
+		}
+
+		@Override
+		public int get() {
+			return encoder.get();
+		}
+
+		@Override
+		public double getRate() {
+			return encoder.getRate();
+		}
+
+		@Override
+		public void reset() {
+			encoder.reset();
+		}
+	}
+
+	private static class WpiStick implements RobotIO.Stick {
+		private final Joystick joystick;
+
+		WpiStick(Joystick joystick) {
+			this.joystick = joystick;
+		}
+
+		@Override
+		public double getY() {
+			return joystick.getY();
+		}
+
+		@Override
+		public double getTwist() {
+			return joystick.getTwist();
+		}
+
+		@Override
+		public boolean getRawButton(int button) {
+			return joystick.getRawButton(button);
+		}
+
+		@Override
+		public boolean getTrigger() {
+			return joystick.getTrigger();
+		}
+
+		@Override
+		public int getButtons() {
+			return DriverStation.getInstance().getStickButtons(joystick.getPort());
+		}
+	}
+}